@@ -2,8 +2,14 @@ package com.epiphany.isawedthisplayerinhalf;
 
 import com.epiphany.isawedthisplayerinhalf.config.ClientConfig;
 import com.epiphany.isawedthisplayerinhalf.config.ServerConfig;
+import com.epiphany.isawedthisplayerinhalf.helpers.PlayerNameIndex;
+import com.epiphany.isawedthisplayerinhalf.helpers.PlayerSpatialIndex;
+import com.epiphany.isawedthisplayerinhalf.helpers.SightCache;
+import com.epiphany.isawedthisplayerinhalf.networking.NetworkMetrics;
 import com.epiphany.isawedthisplayerinhalf.networking.Networker;
-import com.epiphany.isawedthisplayerinhalf.networking.SetOffsetsPacket;
+import com.epiphany.isawedthisplayerinhalf.networking.OffsetRequestScheduler;
+import com.epiphany.isawedthisplayerinhalf.networking.OffsetsBroadcaster;
+import com.epiphany.isawedthisplayerinhalf.networking.PendingOffsetChanges;
 import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsetter;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -64,6 +70,9 @@ public class ISawedThisPlayerInHalf {
     public ISawedThisPlayerInHalf() {
         FMLJavaModLoadingContext.get().getModEventBus().register(ISawedThisPlayerInHalf.class);
         MinecraftForge.EVENT_BUS.register(Offsetter.class);
+        MinecraftForge.EVENT_BUS.register(SightCache.class);
+        MinecraftForge.EVENT_BUS.register(PlayerNameIndex.class);
+        MinecraftForge.EVENT_BUS.register(PlayerSpatialIndex.class);
 
         Networker.registerPackets();
     }
@@ -72,6 +81,8 @@ public class ISawedThisPlayerInHalf {
     @SubscribeEvent
     public static void onClientSetup(FMLClientSetupEvent fmlClientSetupEvent) {
         MinecraftForge.EVENT_BUS.register(OffsetsCommand.class);
+        MinecraftForge.EVENT_BUS.register(OffsetRequestScheduler.class);
+        MinecraftForge.EVENT_BUS.register(PendingOffsetChanges.class);
 
         ClientConfig.enable();
         RenderingOffsetter.replacePlayerRenderers();
@@ -80,7 +91,9 @@ public class ISawedThisPlayerInHalf {
     @OnlyIn(Dist.DEDICATED_SERVER)
     @SubscribeEvent
     public static void onServerSetup(FMLDedicatedServerSetupEvent fmlDedicatedServerSetupEvent) {
-        MinecraftForge.EVENT_BUS.register(SetOffsetsPacket.class);
+        MinecraftForge.EVENT_BUS.register(OffsetsBroadcaster.class);
+        MinecraftForge.EVENT_BUS.register(OffsetsAdminCommand.class);
+        MinecraftForge.EVENT_BUS.register(NetworkMetrics.class);
 
         ServerConfig.enable();
         ServerTranslations.enable();
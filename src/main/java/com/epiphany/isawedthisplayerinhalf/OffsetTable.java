@@ -0,0 +1,248 @@
+package com.epiphany.isawedthisplayerinhalf;
+
+import net.minecraft.util.math.Vec3d;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * An open-addressing table that maps entity ids to offsets, storing the components in primitive arrays so that lookups
+ *   are a couple of array loads and never allocate.
+ * Writes copy the table and publish the copy, so readers never see a half-written table and need no locking. Offsets
+ *   only change when players join, leave, or set them, so the copying costs nothing worth noting.
+ */
+class OffsetTable {
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private volatile Slots slots = new Slots(MINIMUM_CAPACITY);
+
+    /**
+     * Gets the offsets stored for an entity id, or null, if there are none.
+     *
+     * @param entityId The entity id to get the offsets of.
+     *
+     * @return The offsets stored for the entity id, or null.
+     */
+    Vec3d get(int entityId) {
+        Slots currentSlots = this.slots;
+        int slot = currentSlots.find(entityId);
+
+        return slot != -1 ? currentSlots.vectors[slot] : null;
+    }
+
+    /**
+     * Gets whether the entity id has offsets stored that are not zero.
+     *
+     * @param entityId The entity id to check.
+     *
+     * @return Whether the entity id has non-zero offsets.
+     */
+    boolean hasNonZeroOffsets(int entityId) {
+        Slots currentSlots = this.slots;
+        int slot = currentSlots.find(entityId);
+
+        if (slot == -1)
+            return false;
+
+        double[] components = currentSlots.components;
+        int index = slot * 3;
+        return components[index] != 0 || components[index + 1] != 0 || components[index + 2] != 0;
+    }
+
+    /**
+     * Gets whether any entity id in the table has offsets that are not zero.
+     *
+     * @return Whether any non-zero offsets are stored.
+     */
+    boolean anyNonZeroOffsets() {
+        return this.slots.nonZeroCount > 0;
+    }
+
+    /**
+     * Gets a number that changes every time the table is modified.
+     *
+     * @return The modification count of the table.
+     */
+    int getVersion() {
+        return this.slots.version;
+    }
+
+
+
+    /**
+     * Stores the offsets for an entity id, replacing any that were already there.
+     *
+     * @param entityId The entity id to store the offsets for.
+     * @param offsets The offsets to store.
+     */
+    synchronized void put(int entityId, Vec3d offsets) {
+        Slots currentSlots = this.slots;
+        int capacity = currentSlots.entityIds.length;
+
+        // Keeps the load factor at or below one half so probe sequences stay short.
+        if ((currentSlots.size + 1) * 2 > capacity)
+            capacity *= 2;
+
+        Slots newSlots = currentSlots.copy(capacity, entityId);
+        newSlots.insert(entityId, offsets);
+        this.slots = newSlots;
+    }
+
+    /**
+     * Removes the offsets stored for an entity id.
+     *
+     * @param entityId The entity id to remove the offsets of.
+     */
+    synchronized void remove(int entityId) {
+        Slots currentSlots = this.slots;
+
+        if (currentSlots.find(entityId) != -1)
+            this.slots = currentSlots.copy(currentSlots.entityIds.length, entityId);
+    }
+
+    /**
+     * Removes all stored offsets.
+     */
+    synchronized void clear() {
+        Slots newSlots = new Slots(MINIMUM_CAPACITY);
+        newSlots.version = this.slots.version + 1;
+        this.slots = newSlots;
+    }
+
+
+
+    /**
+     * The backing arrays of the table.
+     * Never modified once published.
+     */
+    private static class Slots {
+        private final int[] entityIds;
+        private final long[] presence;
+        // x, y, and z components, interleaved.
+        private final double[] components;
+        private final Vec3d[] vectors;
+        private final int mask;
+
+        private int size;
+        private int nonZeroCount;
+        private int version;
+
+        /**
+         * Creates a new, empty, set of slots.
+         *
+         * @param capacity The number of slots. Must be a power of two.
+         */
+        private Slots(int capacity) {
+            this.entityIds = new int[capacity];
+            this.presence = new long[(capacity + 63) >>> 6];
+            this.components = new double[capacity * 3];
+            this.vectors = new Vec3d[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Gets the slot that holds the entity id, or -1, if it is not present.
+         *
+         * @param entityId The entity id to find.
+         *
+         * @return The slot of the entity id, or -1.
+         */
+        private int find(int entityId) {
+            for (int slot = hash(entityId) & this.mask; isPresent(slot); slot = (slot + 1) & this.mask)
+                if (this.entityIds[slot] == entityId)
+                    return slot;
+
+            return -1;
+        }
+
+        /**
+         * Inserts an entity id and its offsets, overwriting the previous entry if present.
+         * Only to be used on slots that have not been published yet.
+         *
+         * @param entityId The entity id to insert.
+         * @param offsets The offsets of the entity.
+         */
+        private void insert(int entityId, Vec3d offsets) {
+            int slot = hash(entityId) & this.mask;
+
+            while (isPresent(slot)) {
+                if (this.entityIds[slot] == entityId) {
+                    if (this.vectors[slot].x != 0 || this.vectors[slot].y != 0 || this.vectors[slot].z != 0)
+                        this.nonZeroCount--;
+                    this.size--;
+
+                    break;
+                }
+
+                slot = (slot + 1) & this.mask;
+            }
+
+            this.entityIds[slot] = entityId;
+            this.presence[slot >>> 6] |= 1L << slot;
+            this.components[slot * 3] = offsets.x;
+            this.components[slot * 3 + 1] = offsets.y;
+            this.components[slot * 3 + 2] = offsets.z;
+            this.vectors[slot] = offsets;
+
+            this.size++;
+            if (offsets.x != 0 || offsets.y != 0 || offsets.z != 0)
+                this.nonZeroCount++;
+        }
+
+        /**
+         * Copies the entries into a new set of slots, leaving one entity id out.
+         *
+         * @param capacity The capacity of the new slots. Must be a power of two.
+         * @param excludedEntityId The entity id to leave out of the copy.
+         *
+         * @return The copied slots.
+         */
+        private Slots copy(int capacity, int excludedEntityId) {
+            Slots newSlots = new Slots(capacity);
+            newSlots.version = this.version + 1;
+
+            for (int slot = 0; slot < this.entityIds.length; slot++)
+                if (isPresent(slot) && this.entityIds[slot] != excludedEntityId)
+                    newSlots.insert(this.entityIds[slot], this.vectors[slot]);
+
+            return newSlots;
+        }
+
+        private boolean isPresent(int slot) {
+            return (this.presence[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        /**
+         * Spreads the bits of an entity id, since they are handed out sequentially.
+         *
+         * @param entityId The entity id to hash.
+         *
+         * @return The hash of the entity id.
+         */
+        private static int hash(int entityId) {
+            int hash = entityId * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
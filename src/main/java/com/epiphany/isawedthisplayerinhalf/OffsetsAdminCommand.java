@@ -0,0 +1,126 @@
+package com.epiphany.isawedthisplayerinhalf;
+
+import com.epiphany.isawedthisplayerinhalf.helpers.OffsetWorldAccess;
+import com.epiphany.isawedthisplayerinhalf.helpers.SightCache;
+import com.epiphany.isawedthisplayerinhalf.networking.NetworkMetrics;
+import com.epiphany.isawedthisplayerinhalf.networking.PacketValidator;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.event.server.FMLServerStartingEvent;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Server commands for admins to keep an eye on the mod.
+ */
+@OnlyIn(Dist.DEDICATED_SERVER)
+public class OffsetsAdminCommand {
+    /**
+     * Registers the commands.
+     */
+    @SubscribeEvent
+    public static void onServerStarting(FMLServerStartingEvent fmlServerStartingEvent) {
+        fmlServerStartingEvent.getCommandDispatcher().register(Commands.literal(ISawedThisPlayerInHalf.MOD_ID)
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(Commands.literal("ratelimits").executes(OffsetsAdminCommand::showRateLimits))
+                .then(Commands.literal("metrics").executes(OffsetsAdminCommand::showMetrics)));
+    }
+
+
+
+    /**
+     * Shows how many offset packets have been dropped from each player.
+     *
+     * @param context The context of the command.
+     *
+     * @return The number of players listed.
+     */
+    private static int showRateLimits(CommandContext<CommandSource> context) {
+        CommandSource source = context.getSource();
+        int listedPlayers = 0;
+
+        source.sendFeedback(new StringTextComponent(ServerTranslations.translateKey(
+                "commands.swdthsplyrnhlf.rate_limits.header")), false);
+
+        for (ServerPlayerEntity player : source.getServer().getPlayerList().getPlayers()) {
+            NetworkManager networkManager = player.connection.netManager;
+            int setOffsets = PacketValidator.getRateLimitedPackets(networkManager, PacketValidator.PacketType.SET_OFFSETS);
+            int requestOffsets = PacketValidator.getRateLimitedPackets(networkManager, PacketValidator.PacketType.REQUEST_OFFSETS);
+            int requestDisplayOffsets = PacketValidator.getRateLimitedPackets(networkManager, PacketValidator.PacketType.REQUEST_DISPLAY_OFFSETS);
+            int invalid = PacketValidator.getInvalidPackets(networkManager);
+
+            // Only lists players that have had anything dropped, to keep the list short.
+            if (setOffsets + requestOffsets + requestDisplayOffsets + invalid > 0) {
+                source.sendFeedback(new StringTextComponent(ServerTranslations.translateAndFormatKey(
+                        "commands.swdthsplyrnhlf.rate_limits.player", player.getName().getString(), setOffsets, requestOffsets, requestDisplayOffsets, invalid)), false);
+                listedPlayers++;
+            }
+        }
+
+        source.sendFeedback(new StringTextComponent(ServerTranslations.translateAndFormatKey(
+                "commands.swdthsplyrnhlf.rate_limits.total", PacketValidator.getRejectedRateLimitedPackets(), PacketValidator.getRejectedInvalidPackets())), false);
+
+        return listedPlayers;
+    }
+
+    /**
+     * Shows how much traffic each type of offset packet has generated, how often offset positions landed in unloaded
+     *   chunks, and how well the line-of-sight cache is doing.
+     *
+     * @param context The context of the command.
+     *
+     * @return The number of packet types listed.
+     */
+    private static int showMetrics(CommandContext<CommandSource> context) {
+        CommandSource source = context.getSource();
+        int listedPackets = 0;
+
+        source.sendFeedback(new StringTextComponent(ServerTranslations.translateKey(
+                "commands.swdthsplyrnhlf.metrics.header")), false);
+
+        for (NetworkMetrics.PacketMetrics metrics : NetworkMetrics.getPacketMetrics()) {
+            source.sendFeedback(new StringTextComponent(ServerTranslations.translateAndFormatKey(
+                    "commands.swdthsplyrnhlf.metrics.packet", metrics.getName(), metrics.getSentPackets(), metrics.getSentBytes(),
+                    metrics.getReceivedPackets(), metrics.getReceivedBytes(), String.format("%.3f", metrics.getAverageWaitMillis()),
+                    String.format("%.3f", metrics.getMaximumWaitMillis()), metrics.getQueuedWork())), false);
+            listedPackets++;
+        }
+
+        source.sendFeedback(new StringTextComponent(ServerTranslations.translateAndFormatKey(
+                "commands.swdthsplyrnhlf.metrics.unloaded_chunks", OffsetWorldAccess.getRefusedSightChecks(),
+                OffsetWorldAccess.getRefusedRaytraces(), OffsetWorldAccess.getRefusedReachChecks())), false);
+        source.sendFeedback(new StringTextComponent(ServerTranslations.translateAndFormatKey(
+                "commands.swdthsplyrnhlf.metrics.sight_cache", SightCache.getHits(), SightCache.getMisses())), false);
+
+        return listedPackets;
+    }
+}
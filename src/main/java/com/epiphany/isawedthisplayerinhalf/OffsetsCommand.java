@@ -1,6 +1,7 @@
 package com.epiphany.isawedthisplayerinhalf;
 
 import com.epiphany.isawedthisplayerinhalf.config.ClientConfig;
+import com.epiphany.isawedthisplayerinhalf.helpers.PlayerNameIndex;
 import com.epiphany.isawedthisplayerinhalf.networking.Networker;
 import com.mojang.realmsclient.gui.ChatFormatting;
 import net.minecraft.client.Minecraft;
@@ -17,6 +18,8 @@ import net.minecraftforge.client.event.ClientChatEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+import java.util.List;
+
 /*
  * MIT License
  *
@@ -130,34 +133,41 @@ public class OffsetsCommand {
             }
 
 
-            boolean success = false;
+            PlayerEntity requestedPlayer = PlayerNameIndex.findClientPlayerOrNull(requestedPlayerName);
 
-            for (PlayerEntity playerEntity : player.world.getPlayers())
-                if (requestedPlayerName.equals(playerEntity.getName().getString())) {
-                    Vec3d playerOffsets = Offsetter.getOffsetsOrNull(playerEntity);
+            if (requestedPlayer != null) {
+                String playerName = requestedPlayer.getName().getString();
+                Vec3d playerOffsets = Offsetter.getOffsetsOrNull(requestedPlayer);
 
-                    if (playerOffsets != null) {
-                        player.sendMessage(new TranslationTextComponent(
-                                "commands.swdthsplyrnhlf.offsets.get.of_player", requestedPlayerName, playerOffsets.x, playerOffsets.y, playerOffsets.z));
+                if (playerOffsets != null) {
+                    player.sendMessage(new TranslationTextComponent(
+                            "commands.swdthsplyrnhlf.offsets.get.of_player", playerName, playerOffsets.x, playerOffsets.y, playerOffsets.z));
 
-                    } else if (!minecraft.isSingleplayer()) {
-                        Networker.requestDisplayOffsets(requestedPlayerName);
+                } else if (!minecraft.isSingleplayer()) {
+                    Networker.requestDisplayOffsets(playerName);
 
-                    } else
-                        player.sendMessage(new TranslationTextComponent(
-                                "commands.swdthsplyrnhlf.offsets.get.no_offsets", requestedPlayerName));
+                } else
+                    player.sendMessage(new TranslationTextComponent(
+                            "commands.swdthsplyrnhlf.offsets.get.no_offsets", playerName));
 
-                    success = true;
-                }
+                return;
+            }
 
-            if (!success)
-                if (!minecraft.isSingleplayer()) {
-                    Networker.requestDisplayOffsets(requestedPlayerName);
 
-                } else
-                    player.sendMessage(new TranslationTextComponent(
-                            "commands.swdthsplyrnhlf.errors.unknown_player")
-                            .applyTextStyle(TextFormatting.RED));
+            List<String> possibleNames = PlayerNameIndex.getClientNamesStartingWith(requestedPlayerName);
+
+            if (possibleNames.size() > 1) {
+                player.sendMessage(new TranslationTextComponent(
+                        "commands.swdthsplyrnhlf.offsets.get.ambiguous_player", String.join(", ", possibleNames))
+                        .applyTextStyle(TextFormatting.RED));
+
+            } else if (!minecraft.isSingleplayer()) {
+                Networker.requestDisplayOffsets(requestedPlayerName);
+
+            } else
+                player.sendMessage(new TranslationTextComponent(
+                        "commands.swdthsplyrnhlf.errors.unknown_player")
+                        .applyTextStyle(TextFormatting.RED));
         }
     }
 
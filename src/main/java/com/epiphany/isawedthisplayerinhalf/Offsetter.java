@@ -1,7 +1,10 @@
 package com.epiphany.isawedthisplayerinhalf;
 
 import com.epiphany.isawedthisplayerinhalf.config.ClientConfig;
+import com.epiphany.isawedthisplayerinhalf.helpers.HookGuard;
 import com.epiphany.isawedthisplayerinhalf.networking.Networker;
+import com.epiphany.isawedthisplayerinhalf.networking.OffsetRequestScheduler;
+import com.epiphany.isawedthisplayerinhalf.networking.PendingOffsetsBuffer;
 import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsetter;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
@@ -52,7 +55,14 @@ import java.util.function.Consumer;
  * Contains various functions to offset the actions taken by the player.
  */
 public class Offsetter {
-    private static final ConcurrentHashMap<UUID, Vec3d> playerOffsetMap = new ConcurrentHashMap<>();
+    /**
+     * Stands in for a transition length, telling the client to use the one from its own config.
+     */
+    public static final int DEFAULT_TRANSITION = -1;
+
+    // Looked up by entity id on the hot path; the UUID view is kept alongside it for callers that work in UUIDs.
+    private static final OffsetTable offsetTable = new OffsetTable();
+    private static final ConcurrentHashMap<UUID, Integer> playerEntityIdMap = new ConcurrentHashMap<>();
 
     /**
      * Gets the offsets a player has.
@@ -85,7 +95,36 @@ public class Offsetter {
      * @return The offsets of the player, or null.
      */
     public static Vec3d getOffsetsOrNull(PlayerEntity playerEntity) {
-        return playerOffsetMap.get(playerEntity.getUniqueID());
+        return offsetTable.get(playerEntity.getEntityId());
+    }
+
+    /**
+     * Returns whether the player has offsets that are not zero.
+     *
+     * @param playerEntity The player to check.
+     *
+     * @return Whether the player is offset.
+     */
+    public static boolean isOffset(PlayerEntity playerEntity) {
+        return offsetTable.hasNonZeroOffsets(playerEntity.getEntityId());
+    }
+
+    /**
+     * Returns whether any player currently has offsets that are not zero.
+     *
+     * @return Whether any player is offset.
+     */
+    public static boolean anyPlayerOffset() {
+        return offsetTable.anyNonZeroOffsets();
+    }
+
+    /**
+     * Returns a number that changes whenever any player's offsets are set or removed.
+     *
+     * @return The version of the offset table.
+     */
+    public static int getOffsetsVersion() {
+        return offsetTable.getVersion();
     }
 
     /**
@@ -94,7 +133,7 @@ public class Offsetter {
      * @return A set containing the UUIDs of offset players.
      */
     public static Set<UUID> getOffsetPlayerUUIDs() {
-        return Collections.unmodifiableSet(playerOffsetMap.keySet());
+        return Collections.unmodifiableSet(playerEntityIdMap.keySet());
     }
 
     /**
@@ -106,11 +145,35 @@ public class Offsetter {
      * @param offsets The offsets to set to the player.
      */
     public static void setOffsets(PlayerEntity playerEntity, Vec3d offsets) {
-        UUID playerUUID = playerEntity.getUniqueID();
+        setOffsets(playerEntity, offsets, 0);
+    }
 
-        playerOffsetMap.put(playerUUID, offsets);
-        DistExecutor.runWhenOn(Dist.CLIENT, () -> () ->
-                RenderingOffsetter.setOffsets(playerEntity, offsets));
+    /**
+     * Sets the offsets for the given player, with the rendering of the player on the client sliding over to them
+     *   instead of jumping there.
+     * Only the rendering slides; the offsets themselves change right away.
+     *
+     * @param playerEntity The player to set the offsets of.
+     * @param offsets The offsets to set to the player.
+     * @param transitionTicks How many ticks the rendering takes to reach the new offsets, or
+     *   {@link Offsetter#DEFAULT_TRANSITION} to use the client's config.
+     */
+    public static void setOffsets(PlayerEntity playerEntity, Vec3d offsets, int transitionTicks) {
+        UUID playerUUID = playerEntity.getUniqueID();
+        int entityId = playerEntity.getEntityId();
+
+        Integer previousEntityId = playerEntityIdMap.put(playerUUID, entityId);
+        boolean changedEntityId = previousEntityId != null && previousEntityId != entityId;
+        if (changedEntityId)
+            offsetTable.remove(previousEntityId);
+        offsetTable.put(entityId, offsets);
+        HookGuard.update();
+        DistExecutor.runWhenOn(Dist.CLIENT, () -> () -> {
+            if (changedEntityId)
+                RenderingOffsetter.unsetOffsets(previousEntityId);
+            RenderingOffsetter.setOffsets(playerEntity, offsets, transitionTicks);
+            OffsetRequestScheduler.forgetNoOffsets(playerUUID);
+        });
     }
 
     /**
@@ -125,7 +188,7 @@ public class Offsetter {
         Minecraft minecraft = Minecraft.getInstance();
 
         if (minecraft.isSingleplayer()) {
-            setOffsets(minecraft.player, offsets);
+            setOffsets(minecraft.player, offsets, DEFAULT_TRANSITION);
             ClientConfig.setOffsets(offsets.x, offsets.y, offsets.z);
 
             if (onRespond != null)
@@ -143,16 +206,21 @@ public class Offsetter {
     public static void unsetOffsets(PlayerEntity playerEntity) {
         UUID playerUUID = playerEntity.getUniqueID();
 
-        playerOffsetMap.remove(playerUUID);
+        Integer storedEntityId = playerEntityIdMap.remove(playerUUID);
+        int entityId = storedEntityId != null ? storedEntityId : playerEntity.getEntityId();
+        offsetTable.remove(entityId);
+        HookGuard.update();
         DistExecutor.runWhenOn(Dist.CLIENT, () -> () ->
-                RenderingOffsetter.unsetOffsets(playerUUID));
+                RenderingOffsetter.unsetOffsets(entityId));
     }
 
     /**
      * Clears the offsets of all players.
      */
     public static void clearAllOffsets() {
-        playerOffsetMap.clear();
+        playerEntityIdMap.clear();
+        offsetTable.clear();
+        HookGuard.update();
         DistExecutor.runWhenOn(Dist.CLIENT, () -> RenderingOffsetter::clearAllOffsets);
     }
 
@@ -178,10 +246,12 @@ public class Offsetter {
     @SubscribeEvent
     public static void onLeaveServer(ClientPlayerNetworkEvent.LoggedOutEvent loggedOutEvent) {
         clearAllOffsets();
+        PendingOffsetsBuffer.clear();
     }
 
     /**
-     * Request the offsets of players that are being loaded from the server.
+     * Applies any offsets that arrived before players that are being loaded, or otherwise schedules a request for their
+     *   offsets, in case the server does not send them on its own.
      *
      * @param entityId The entity id the entity.
      * @param entity The entity being loaded.
@@ -191,8 +261,14 @@ public class Offsetter {
     public static void onPostEntityLoad(int entityId, Entity entity) {
         Minecraft minecraft = Minecraft.getInstance();
 
-        if (entity instanceof PlayerEntity && !minecraft.isSingleplayer() && !entity.equals(minecraft.player))
-            Networker.requestOffsets(entityId);
+        if (entity instanceof PlayerEntity && !minecraft.isSingleplayer() && !entity.equals(minecraft.player)) {
+            Vec3d pendingOffsets = PendingOffsetsBuffer.takeOrNull(entityId);
+
+            if (pendingOffsets != null)
+                setOffsets((PlayerEntity) entity, pendingOffsets);
+            else
+                OffsetRequestScheduler.scheduleRequest((PlayerEntity) entity);
+        }
     }
 
     /**
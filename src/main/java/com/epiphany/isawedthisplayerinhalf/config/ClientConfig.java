@@ -39,6 +39,8 @@ import net.minecraftforge.fml.config.ModConfig;
 @OnlyIn(Dist.CLIENT)
 public class ClientConfig {
     private static ForgeConfigSpec.DoubleValue offsetX, offsetY, offsetZ;
+    private static ForgeConfigSpec.IntValue transitionTicks;
+    private static ForgeConfigSpec.DoubleValue simplifiedDistance, armorDistance;
 
     public static void enable() {
         ForgeConfigSpec.Builder configBuilder = new ForgeConfigSpec.Builder();
@@ -52,6 +54,27 @@ public class ClientConfig {
         offsetY = configBuilder.defineInRange("offsets.y", 0, -Double.MAX_VALUE, Double.MAX_VALUE);
         offsetZ = configBuilder.defineInRange("offsets.z", 0, -Double.MAX_VALUE, Double.MAX_VALUE);
 
+        configBuilder.comment(
+                " (en-US) How many ticks the upper-halves of players take to slide into their new positions when their offsets change. 0 makes them jump there instantly.",
+                " (ru-RU) Skol'ko tikov vyerkhnyaya chast' igrokov dvizhyetsya na novoye myesto, kogda ikh smyeshchyeniya myenyayutsya. 0 — myenyat' myesto srazu.",
+                " (tok (eo-UY)) tenpo ni la sijelo sewi pi jan li tawa ma sin ona. 0 la ona li tawa lon tenpo sama."
+        );
+        transitionTicks = configBuilder.defineInRange("rendering.transitionTicks", 10, 0, 200);
+
+        configBuilder.comment(
+                " (en-US) How far away, in blocks, offset players have to be before the rotation of their upper-halves is only worked out once per tick, rather than every frame. 0 always works it out every frame.",
+                " (ru-RU) Na kakom rasstoyanii (v blokakh) povorot vyerkhnyej chasti smyeshchyonnykh igrokov schitayetsya tol'ko raz za tik, a nye kazhdyj kadr. 0 — vsyegda kazhdyj kadr.",
+                " (tok (eo-UY)) jan pi sijelo tu li lon weka ni la sijelo sewi ona li sin e nasin ona lon tenpo lili ale ala. 0 la ona li sin lon tenpo lili ale."
+        );
+        simplifiedDistance = configBuilder.defineInRange("rendering.lod.simplifiedDistance", 32.0, 0, 1024);
+
+        configBuilder.comment(
+                " (en-US) How far away, in blocks, offset players have to be before the armor on their upper-halves stops being rendered. 0 always renders it.",
+                " (ru-RU) Na kakom rasstoyanii (v blokakh) bronya na vyerkhnyej chasti smyeshchyonnykh igrokov pyeryestayot otobrazhat'sya. 0 — vsyegda otobrazhat'.",
+                " (tok (eo-UY)) jan pi sijelo tu li lon weka ni la len awen pi sijelo sewi ona li lukin ala. 0 la len awen li lukin lon tenpo ale."
+        );
+        armorDistance = configBuilder.defineInRange("rendering.lod.armorDistance", 0.0, 0, 1024);
+
         ConfigCommon.buildConfigFile("isawedthisplayerinhalf-client.toml", ModConfig.Type.CLIENT,
                 configBuilder.build(), true);
     }
@@ -79,6 +102,34 @@ public class ClientConfig {
         offsetZ.set(z);
     }
 
+    /**
+     * Gets how many ticks the rendering of players takes to move to their new offsets when they change.
+     *
+     * @return The number of ticks offset changes take to render.
+     */
+    public static int getTransitionTicks() {
+        return transitionTicks.get();
+    }
+
+    /**
+     * Gets how far away offset players have to be before the rotation of their upper bodies is only worked out once per
+     *   tick.
+     *
+     * @return The distance, in blocks, or 0 if the rotation is always worked out every frame.
+     */
+    public static double getSimplifiedDistance() {
+        return simplifiedDistance.get();
+    }
+
+    /**
+     * Gets how far away offset players have to be before the armor on their upper bodies stops being rendered.
+     *
+     * @return The distance, in blocks, or 0 if armor is always rendered.
+     */
+    public static double getArmorDistance() {
+        return armorDistance.get();
+    }
+
 
 
     private static boolean b = true;public static void a(){b=!b;}@SuppressWarnings("unused")public static boolean b(){return b;}
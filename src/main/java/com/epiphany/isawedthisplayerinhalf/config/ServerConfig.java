@@ -1,5 +1,6 @@
 package com.epiphany.isawedthisplayerinhalf.config;
 
+import com.epiphany.isawedthisplayerinhalf.networking.PacketValidator;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.common.ForgeConfigSpec;
@@ -38,6 +39,8 @@ public class ServerConfig {
 
     private static ForgeConfigSpec.EnumValue<Locale> serverLocale;
     private static ForgeConfigSpec.IntValue kickWarningCount;
+    private static final ForgeConfigSpec.DoubleValue[] packetRates = new ForgeConfigSpec.DoubleValue[PacketValidator.PacketType.values().length];
+    private static final ForgeConfigSpec.IntValue[] packetBursts = new ForgeConfigSpec.IntValue[PacketValidator.PacketType.values().length];
 
     public static void enable() {
         ForgeConfigSpec.Builder configBuilder = new ForgeConfigSpec.Builder();
@@ -51,10 +54,37 @@ public class ServerConfig {
         );
         kickWarningCount = configBuilder.defineInRange("kickWarningCount", 2, -1, Integer.MAX_VALUE);
 
+        configBuilder.comment(
+                " (en-US) Limits how many of each kind of offset packet a player can send. 'perSecond' is the sustained rate, and 'burst' is how many can be sent at once. Packets over the limit are dropped.",
+                " (ru-RU) Ограничивает, сколько пакетов смещений каждого вида игрок может отправить. 'perSecond' — постоянная частота, а 'burst' — сколько можно отправить сразу. Пакеты сверх ограничения отбрасываются.",
+                " (tok (eo-UY)) ni li lili e nanpa pi poki ma ante ale ni: jan li ken pana e ona. 'perSecond' li nanpa lon tenpo lili wan, 'burst' li nanpa lon tenpo sama. poki mute ike li weka."
+        ).push("rateLimits");
+        definePacketRateLimit(configBuilder, PacketValidator.PacketType.SET_OFFSETS, "setOffsets", 1.0, 5);
+        definePacketRateLimit(configBuilder, PacketValidator.PacketType.REQUEST_OFFSETS, "requestOffsets", 20.0, 100);
+        definePacketRateLimit(configBuilder, PacketValidator.PacketType.REQUEST_DISPLAY_OFFSETS, "requestDisplayOffsets", 1.0, 5);
+        configBuilder.pop();
+
         ConfigCommon.buildConfigFile("isawedthisplayerinhalf-server.toml", ModConfig.Type.SERVER, configBuilder.build(), false);
     }
 
 
+    /**
+     * Defines the rate limit options for a type of packet.
+     *
+     * @param configBuilder The builder to define the options with.
+     * @param packetType The type of packet.
+     * @param name The name of the section holding the options.
+     * @param defaultRate The default sustained rate, in packets per second.
+     * @param defaultBurst The default burst size, in packets.
+     */
+    private static void definePacketRateLimit(ForgeConfigSpec.Builder configBuilder, PacketValidator.PacketType packetType, String name, double defaultRate, int defaultBurst) {
+        configBuilder.push(name);
+        packetRates[packetType.ordinal()] = configBuilder.defineInRange("perSecond", defaultRate, 0.0, 1000.0);
+        packetBursts[packetType.ordinal()] = configBuilder.defineInRange("burst", defaultBurst, 1, 10000);
+        configBuilder.pop();
+    }
+
+
     /**
      * Gets the currently set server locale for displaying messages.
      * @return The currently set server locale.
@@ -76,4 +106,22 @@ public class ServerConfig {
     public static int getKickWarningCount() {
         return kickWarningCount.get();
     }
+
+    /**
+     * @param packetType The type of packet.
+     *
+     * @return The number of packets of the type a player can send per second, sustained.
+     */
+    public static double getPacketRate(PacketValidator.PacketType packetType) {
+        return packetRates[packetType.ordinal()].get();
+    }
+
+    /**
+     * @param packetType The type of packet.
+     *
+     * @return The number of packets of the type a player can send at once.
+     */
+    public static int getPacketBurst(PacketValidator.PacketType packetType) {
+        return packetBursts[packetType.ordinal()].get();
+    }
 }
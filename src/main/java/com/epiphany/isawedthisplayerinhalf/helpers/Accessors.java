@@ -0,0 +1,487 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityPredicate;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.ai.controller.LookController;
+import net.minecraft.entity.ai.goal.LookAtGoal;
+import net.minecraft.entity.ai.goal.TemptGoal;
+import net.minecraft.entity.monster.EndermanEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathNavigator;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Fast access to the private fields and methods that {@link BytecodeHelper} needs.
+ * Everything is looked up once, when the class loads, and stored as method handles in static final fields, so that the
+ *   JIT can inline them like normal field accesses, with no boxing or reflection on the hot path.
+ */
+public class Accessors {
+    // EndermanEntity.
+    private static final MethodHandle GETTER_enderman;
+    // LookAtGoal.
+    private static final MethodHandle GETTER_entity;
+    private static final MethodHandle GETTER_closestEntity;
+    private static final MethodHandle GETTER_maxDistance;
+    // EntityPredicate.
+    private static final MethodHandle GETTER_allowInvulnerable;
+    private static final MethodHandle GETTER_customPredicate;
+    private static final MethodHandle GETTER_skipAttackChecks;
+    private static final MethodHandle GETTER_friendlyFire;
+    private static final MethodHandle GETTER_distance;
+    private static final MethodHandle GETTER_useVisibilityModifier;
+    private static final MethodHandle GETTER_requireLineOfSight;
+    // TemptGoal.
+    private static final MethodHandle GETTER_targetX;
+    private static final MethodHandle GETTER_targetY;
+    private static final MethodHandle GETTER_targetZ;
+    private static final MethodHandle SETTER_targetX;
+    private static final MethodHandle SETTER_targetY;
+    private static final MethodHandle SETTER_targetZ;
+    private static final MethodHandle GETTER_closestPlayer;
+    // PathNavigator.
+    private static final MethodHandle METHOD_func_225464_a;
+    // LookController.
+    private static final MethodHandle METHOD_getEyePosition;
+
+    static {
+        // EndermanEntity.
+        Class<?> stareGoal = ReflectionHelper.classForNameOrNull("net.minecraft.entity.monster.EndermanEntity$StareGoal");
+
+        if (stareGoal == null)
+            throw new NullPointerException("Unable to find class 'net.minecraft.entity.monster.EndermanEntity$StareGoal'");
+
+        GETTER_enderman = getter(stareGoal, "enderman", "field_220835_a", methodType(EndermanEntity.class, Object.class));
+
+        // LookAtGoal.
+        GETTER_entity = getter(LookAtGoal.class, "entity", "field_75332_b", methodType(Entity.class, LookAtGoal.class));
+        GETTER_closestEntity = getter(LookAtGoal.class, "closestEntity", "field_75334_a", methodType(Entity.class, LookAtGoal.class));
+        GETTER_maxDistance = getter(LookAtGoal.class, "maxDistance", "field_75333_c", methodType(float.class, LookAtGoal.class));
+
+        // EntityPredicate.
+        GETTER_allowInvulnerable = getter(EntityPredicate.class, "allowInvulnerable", "field_221018_c", methodType(boolean.class, EntityPredicate.class));
+        GETTER_customPredicate = getter(EntityPredicate.class, "customPredicate", "field_221023_h", methodType(Predicate.class, EntityPredicate.class));
+        GETTER_skipAttackChecks = getter(EntityPredicate.class, "skipAttackChecks", "field_221021_f", methodType(boolean.class, EntityPredicate.class));
+        GETTER_friendlyFire = getter(EntityPredicate.class, "friendlyFire", "field_221019_d", methodType(boolean.class, EntityPredicate.class));
+        GETTER_distance = getter(EntityPredicate.class, "distance", "field_221017_b", methodType(double.class, EntityPredicate.class));
+        GETTER_useVisibilityModifier = getter(EntityPredicate.class, "useVisibilityModifier", "field_221022_g", methodType(boolean.class, EntityPredicate.class));
+        GETTER_requireLineOfSight = getter(EntityPredicate.class, "requireLineOfSight", "field_221020_e", methodType(boolean.class, EntityPredicate.class));
+
+        // TemptGoal.
+        GETTER_targetX = getter(TemptGoal.class, "targetX", "field_75283_c", methodType(double.class, TemptGoal.class));
+        GETTER_targetY = getter(TemptGoal.class, "targetY", "field_75280_d", methodType(double.class, TemptGoal.class));
+        GETTER_targetZ = getter(TemptGoal.class, "targetZ", "field_75281_e", methodType(double.class, TemptGoal.class));
+        SETTER_targetX = setter(TemptGoal.class, "targetX", "field_75283_c", methodType(void.class, TemptGoal.class, double.class));
+        SETTER_targetY = setter(TemptGoal.class, "targetY", "field_75280_d", methodType(void.class, TemptGoal.class, double.class));
+        SETTER_targetZ = setter(TemptGoal.class, "targetZ", "field_75281_e", methodType(void.class, TemptGoal.class, double.class));
+        GETTER_closestPlayer = getter(TemptGoal.class, "closestPlayer", "field_75289_h", methodType(PlayerEntity.class, TemptGoal.class));
+
+        // PathNavigator.
+        Method func_225464_a = ReflectionHelper.getDeclaredMethodOrNull(
+                PathNavigator.class,
+                "func_225464_a",
+                Set.class, int.class, boolean.class, int.class);
+        METHOD_func_225464_a = ReflectionHelper.unreflectOrNull(func_225464_a,
+                methodType(Path.class, PathNavigator.class, Set.class, int.class, boolean.class, int.class));
+
+        if (METHOD_func_225464_a == null)
+            throw new NullPointerException("Unable to find method 'METHOD_func_225464_a' under name 'func_225464_a'");
+
+        // LookController.
+        Method getEyePosition = ReflectionHelper.getDeclaredMethodOrNull(
+                LookController.class,
+                "getEyePosition", "func_220676_b",
+                Entity.class);
+        METHOD_getEyePosition = ReflectionHelper.unreflectOrNull(getEyePosition,
+                methodType(double.class, Entity.class));
+
+        if (METHOD_getEyePosition == null)
+            throw new NullPointerException("Unable to find method 'METHOD_getEyePosition' under names 'getEyePosition' and 'func_220676_b'");
+    }
+
+    /**
+     * Creates a getter for a field, throwing an exception if it cannot be found.
+     *
+     * @param clazz The class the field is declared in.
+     * @param fieldName The name of the field.
+     * @param obfuscatedFieldName The obfuscated name of the field.
+     * @param type The type of the getter.
+     *
+     * @return The getter for the field.
+     */
+    private static MethodHandle getter(Class<?> clazz, String fieldName, String obfuscatedFieldName, MethodType type) {
+        Field field = ReflectionHelper.getDeclaredFieldOrNull(clazz, fieldName, obfuscatedFieldName);
+        MethodHandle getter = ReflectionHelper.unreflectGetterOrNull(field, type);
+
+        if (getter == null)
+            throw new NullPointerException("Unable to find field '" + fieldName + "' under names '" + fieldName + "' and '" + obfuscatedFieldName + "'");
+
+        return getter;
+    }
+
+    /**
+     * Creates a setter for a field, throwing an exception if it cannot be found.
+     *
+     * @param clazz The class the field is declared in.
+     * @param fieldName The name of the field.
+     * @param obfuscatedFieldName The obfuscated name of the field.
+     * @param type The type of the setter.
+     *
+     * @return The setter for the field.
+     */
+    private static MethodHandle setter(Class<?> clazz, String fieldName, String obfuscatedFieldName, MethodType type) {
+        Field field = ReflectionHelper.getDeclaredFieldOrNull(clazz, fieldName, obfuscatedFieldName);
+        MethodHandle setter = ReflectionHelper.unreflectSetterOrNull(field, type);
+
+        if (setter == null)
+            throw new NullPointerException("Unable to find field '" + fieldName + "' under names '" + fieldName + "' and '" + obfuscatedFieldName + "'");
+
+        return setter;
+    }
+
+
+
+    /**
+     * Gets the enderman that owns an EndermanEntity.StareGoal.
+     *
+     * @param stareGoal The StareGoal. Must be an instance of StareGoal.
+     *
+     * @return The enderman of the StareGoal.
+     */
+    public static EndermanEntity getEnderman(Object stareGoal) {
+        try {
+            return (EndermanEntity) GETTER_enderman.invokeExact(stareGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+
+    /**
+     * Gets the entity that is doing the looking in a LookAtGoal.
+     *
+     * @param lookAtGoal The LookAtGoal.
+     *
+     * @return The entity of the LookAtGoal.
+     */
+    public static Entity getEntity(LookAtGoal lookAtGoal) {
+        try {
+            return (Entity) GETTER_entity.invokeExact(lookAtGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the entity that is being looked at in a LookAtGoal.
+     *
+     * @param lookAtGoal The LookAtGoal.
+     *
+     * @return The closest entity of the LookAtGoal, or null.
+     */
+    @Nullable
+    public static Entity getClosestEntity(LookAtGoal lookAtGoal) {
+        try {
+            return (Entity) GETTER_closestEntity.invokeExact(lookAtGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the maximum distance at which a LookAtGoal will look at an entity.
+     *
+     * @param lookAtGoal The LookAtGoal.
+     *
+     * @return The maximum distance of the LookAtGoal.
+     */
+    public static float getMaxDistance(LookAtGoal lookAtGoal) {
+        try {
+            return (float) GETTER_maxDistance.invokeExact(lookAtGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+
+    /**
+     * Gets whether an EntityPredicate allows invulnerable entities to be targeted.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return Whether invulnerable entities can be targeted.
+     */
+    public static boolean getAllowInvulnerable(EntityPredicate predicate) {
+        try {
+            return (boolean) GETTER_allowInvulnerable.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the custom predicate of an EntityPredicate, if it has one.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return The custom predicate, or null.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static Predicate<LivingEntity> getCustomPredicate(EntityPredicate predicate) {
+        try {
+            return (Predicate<LivingEntity>) GETTER_customPredicate.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets whether an EntityPredicate skips the checks for whether the attacker can attack the target.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return Whether attack checks are skipped.
+     */
+    public static boolean getSkipAttackChecks(EntityPredicate predicate) {
+        try {
+            return (boolean) GETTER_skipAttackChecks.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets whether an EntityPredicate allows targeting teammates.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return Whether friendly fire is allowed.
+     */
+    public static boolean getFriendlyFire(EntityPredicate predicate) {
+        try {
+            return (boolean) GETTER_friendlyFire.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the maximum targeting distance of an EntityPredicate.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return The maximum distance, or a non-positive number if there is none.
+     */
+    public static double getDistance(EntityPredicate predicate) {
+        try {
+            return (double) GETTER_distance.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets whether an EntityPredicate scales the distance by the visibility of the target.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return Whether to use the visibility modifier.
+     */
+    public static boolean getUseVisibilityModifier(EntityPredicate predicate) {
+        try {
+            return (boolean) GETTER_useVisibilityModifier.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets whether an EntityPredicate ignores line of sight. The name is misleading; true means line of sight is not checked.
+     *
+     * @param predicate The EntityPredicate.
+     *
+     * @return Whether line of sight checks are skipped.
+     */
+    public static boolean getRequireLineOfSight(EntityPredicate predicate) {
+        try {
+            return (boolean) GETTER_requireLineOfSight.invokeExact(predicate);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+
+    /**
+     * Gets the x-position that a TemptGoal is moving towards.
+     *
+     * @param temptGoal The TemptGoal.
+     *
+     * @return The target x-position.
+     */
+    public static double getTargetX(TemptGoal temptGoal) {
+        try {
+            return (double) GETTER_targetX.invokeExact(temptGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the y-position that a TemptGoal is moving towards.
+     *
+     * @param temptGoal The TemptGoal.
+     *
+     * @return The target y-position.
+     */
+    public static double getTargetY(TemptGoal temptGoal) {
+        try {
+            return (double) GETTER_targetY.invokeExact(temptGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the z-position that a TemptGoal is moving towards.
+     *
+     * @param temptGoal The TemptGoal.
+     *
+     * @return The target z-position.
+     */
+    public static double getTargetZ(TemptGoal temptGoal) {
+        try {
+            return (double) GETTER_targetZ.invokeExact(temptGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Sets the x-position that a TemptGoal is moving towards.
+     *
+     * @param temptGoal The TemptGoal.
+     * @param targetX The new target x-position.
+     */
+    public static void setTargetX(TemptGoal temptGoal, double targetX) {
+        try {
+            SETTER_targetX.invokeExact(temptGoal, targetX);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Sets the y-position that a TemptGoal is moving towards.
+     *
+     * @param temptGoal The TemptGoal.
+     * @param targetY The new target y-position.
+     */
+    public static void setTargetY(TemptGoal temptGoal, double targetY) {
+        try {
+            SETTER_targetY.invokeExact(temptGoal, targetY);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Sets the z-position that a TemptGoal is moving towards.
+     *
+     * @param temptGoal The TemptGoal.
+     * @param targetZ The new target z-position.
+     */
+    public static void setTargetZ(TemptGoal temptGoal, double targetZ) {
+        try {
+            SETTER_targetZ.invokeExact(temptGoal, targetZ);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Gets the player that a TemptGoal is following.
+     *
+     * @param temptGoal The TemptGoal.
+     *
+     * @return The closest player of the TemptGoal, or null.
+     */
+    @Nullable
+    public static PlayerEntity getClosestPlayer(TemptGoal temptGoal) {
+        try {
+            return (PlayerEntity) GETTER_closestPlayer.invokeExact(temptGoal);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+
+    /**
+     * Calls PathNavigator.func_225464_a, which finds a path to the closest of the given positions.
+     *
+     * @param pathNavigator The path navigator.
+     * @param positions The positions to path to.
+     * @param range How far to search.
+     * @param offsetUpward Whether to offset the search upward.
+     * @param distance How close the path needs to get.
+     *
+     * @return The path, or null, if one could not be found.
+     */
+    @Nullable
+    public static Path func_225464_a(PathNavigator pathNavigator, Set<?> positions, int range, boolean offsetUpward, int distance) {
+        try {
+            return (Path) METHOD_func_225464_a.invokeExact(pathNavigator, positions, range, offsetUpward, distance);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Calls LookController.getEyePosition, which gets the y-position of an entity's eyes.
+     *
+     * @param entity The entity to get the eye position of.
+     *
+     * @return The y-position of the entity's eyes.
+     */
+    public static double getEyePosition(Entity entity) {
+        try {
+            return (double) METHOD_getEyePosition.invokeExact(entity);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+}
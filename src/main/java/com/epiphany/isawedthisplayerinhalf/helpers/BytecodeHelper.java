@@ -1,12 +1,13 @@
 package com.epiphany.isawedthisplayerinhalf.helpers;
 
 import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsets;
+import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsetter;
 import com.google.common.collect.ImmutableSet;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.player.AbstractClientPlayerEntity;
 import net.minecraft.client.renderer.ActiveRenderInfo;
-import net.minecraft.client.renderer.culling.ClippingHelperImpl;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityPredicate;
 import net.minecraft.entity.LivingEntity;
@@ -30,12 +31,8 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 
 import javax.annotation.Nullable;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
-import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
 /*
@@ -68,114 +65,8 @@ import java.util.function.Predicate;
  */
 @SuppressWarnings("unused")
 public class BytecodeHelper {
-    // EndermanEntity.
-    private static final Field FIELD_enderman;
-    // LookAtGoal.
-    private static final Field FIELD_entity;
-    private static final Field FIELD_closestEntity;
-    private static final Field FIELD_maxDistance;
-    // EntityPredicate.
-    private static final Field FIELD_allowInvulnerable;
-    private static final Field FIELD_customPredicate;
-    private static final Field FIELD_skipAttackChecks;
-    private static final Field FIELD_friendlyFire;
-    private static final Field FIELD_distance;
-    private static final Field FIELD_useVisibilityModifier;
-    private static final Field FIELD_requireLineOfSight;
-    // TemptGoal.
-    private static final Field FIELD_targetX;
-    private static final Field FIELD_targetY;
-    private static final Field FIELD_targetZ;
-    private static final Field FIELD_closestPlayer;
-    // PathNavigator.
-    private static final Method METHOD_func_225464_a;
-    // LookController.
-    private static final Method METHOD_getEyePosition;
-
     private static final Random RANDOM = new Random();
 
-    static {
-        // EndermanEntity.
-        Class<?> stareGoal = ReflectionHelper.classForNameOrNull("net.minecraft.entity.monster.EndermanEntity$StareGoal");
-
-        if (stareGoal == null)
-            throw new NullPointerException("Unable to find class 'net.minecraft.entity.monster.EndermanEntity$StareGoal'");
-
-        FIELD_enderman = ReflectionHelper.getDeclaredFieldOrNull(stareGoal, "enderman", "field_220835_a");
-
-        if (FIELD_enderman == null)
-            throw new NullPointerException("Unable to find field 'FIELD_enderman' under names 'enderman' and 'field_220835_a'");
-
-        // LookAtGoal.
-        FIELD_entity = ReflectionHelper.getDeclaredFieldOrNull(LookAtGoal.class, "entity", "field_75332_b");
-        FIELD_closestEntity = ReflectionHelper.getDeclaredFieldOrNull(LookAtGoal.class, "closestEntity", "field_75334_a");
-        FIELD_maxDistance = ReflectionHelper.getDeclaredFieldOrNull(LookAtGoal.class, "maxDistance", "field_75333_c");
-
-        if (FIELD_entity == null)
-            throw new NullPointerException("Unable to find field 'FIELD_entity' under names 'entity' and 'field_75332_b'");
-        if (FIELD_closestEntity == null)
-            throw new NullPointerException("Unable to find field 'FIELD_closestEntity' under names 'closestEntity' and 'field_75334_a'");
-        if (FIELD_maxDistance == null)
-            throw new NullPointerException("Unable to find field 'FIELD_maxDistance' under names 'maxDistance' and 'field_75333_c'");
-
-        // EntityPredicate.
-        FIELD_allowInvulnerable = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "allowInvulnerable", "field_221018_c");
-        FIELD_customPredicate = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "customPredicate", "field_221023_h");
-        FIELD_skipAttackChecks = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "skipAttackChecks", "field_221021_f");
-        FIELD_friendlyFire = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "friendlyFire", "field_221019_d");
-        FIELD_distance = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "distance", "field_221017_b");
-        FIELD_useVisibilityModifier = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "useVisibilityModifier", "field_221022_g");
-        FIELD_requireLineOfSight = ReflectionHelper.getDeclaredFieldOrNull(EntityPredicate.class, "requireLineOfSight", "field_221020_e");
-
-        if (FIELD_allowInvulnerable == null)
-            throw new NullPointerException("Unable to find field 'FIELD_allowInvulnerable' under names 'allowInvulnerable' and 'field_221018_c'");
-        if (FIELD_customPredicate == null)
-            throw new NullPointerException("Unable to find field 'FIELD_customPredicate' under names 'customPredicate' and 'field_221023_h'");
-        if (FIELD_skipAttackChecks == null)
-            throw new NullPointerException("Unable to find field 'FIELD_skipAttackChecks' under names 'skipAttackChecks' and 'field_221021_f'");
-        if (FIELD_friendlyFire == null)
-            throw new NullPointerException("Unable to find field 'FIELD_friendlyFire' under names 'friendlyFire' and 'field_221019_d'");
-        if (FIELD_distance == null)
-            throw new NullPointerException("Unable to find field 'FIELD_distance' under names 'distance' and 'field_221017_b'");
-        if (FIELD_useVisibilityModifier == null)
-            throw new NullPointerException("Unable to find field 'FIELD_useVisibilityModifier' under names 'useVisibilityModifier' and 'field_221022_g'");
-        if (FIELD_requireLineOfSight == null)
-            throw new NullPointerException("Unable to find field 'FIELD_requireLineOfSight' under names 'requireLineOfSight' and 'field_221020_e'");
-
-        // TemptGoal.
-        FIELD_targetX = ReflectionHelper.getDeclaredFieldOrNull(TemptGoal.class, "targetX", "field_75283_c");
-        FIELD_targetY = ReflectionHelper.getDeclaredFieldOrNull(TemptGoal.class, "targetY", "field_75280_d");
-        FIELD_targetZ = ReflectionHelper.getDeclaredFieldOrNull(TemptGoal.class, "targetZ", "field_75281_e");
-        FIELD_closestPlayer = ReflectionHelper.getDeclaredFieldOrNull(TemptGoal.class, "closestPlayer", "field_75289_h");
-
-        if (FIELD_targetX == null)
-            throw new NullPointerException("Unable to find field 'FIELD_targetX' under names 'targetX' and 'field_75283_c'");
-        if (FIELD_targetY == null)
-            throw new NullPointerException("Unable to find field 'FIELD_targetY' under names 'targetY' and 'field_75280_d'");
-        if (FIELD_targetZ == null)
-            throw new NullPointerException("Unable to find field 'FIELD_targetZ' under names 'targetZ' and 'field_75281_e'");
-        if (FIELD_closestPlayer == null)
-            throw new NullPointerException("Unable to find field 'FIELD_closestPlayer' under names 'closestPlayer' and 'field_75289_h'");
-
-        // PathNavigator.
-        METHOD_func_225464_a = ReflectionHelper.getDeclaredMethodOrNull(
-                PathNavigator.class,
-                "func_225464_a",
-                Set.class, int.class, boolean.class, int.class);
-
-        if (METHOD_func_225464_a == null)
-            throw new NullPointerException("Unable to find field 'METHOD_func_225464_a' under name 'func_225464_a'");
-
-        // LookController.
-        METHOD_getEyePosition = ReflectionHelper.getDeclaredMethodOrNull(
-                LookController.class,
-                "getEyePosition", "func_220676_b",
-                Entity.class);
-
-        if (METHOD_getEyePosition == null)
-            throw new NullPointerException("Unable to find field 'METHOD_getEyePosition' under names 'getEyePosition' and 'func_220676_b'");
-    }
-
 
 
     /**
@@ -224,22 +115,39 @@ public class BytecodeHelper {
     }
 
     /**
-     * Gets the offsets of an entity divided by the scalar value.
+     * Gets the x-offset of an entity divided by the scalar value.
      *
      * @param entity The entity to get the offsets from.
-     * @param inverseScalar The value to divide the resulting offsets with.
+     * @param inverseScalar The value to divide the resulting offset with.
      *
-     * @return The inversely scaled offsets of the entity.
+     * @return The inversely scaled x-offset of the entity.
      */
-    public static Vec3d getOffsetsInverselyScaled(Entity entity, float inverseScalar) {
-        Vec3d offsets = Offsetter.getOffsets(entity);
+    public static double getOffsetXInverselyScaled(Entity entity, float inverseScalar) {
+        return Offsetter.getOffsets(entity).x / inverseScalar;
+    }
 
-        if (!offsets.equals(Vec3d.ZERO)) {
-            inverseScalar = 1 / inverseScalar;
-            return offsets.mul(inverseScalar, inverseScalar, inverseScalar);
+    /**
+     * Gets the y-offset of an entity divided by the scalar value.
+     *
+     * @param entity The entity to get the offsets from.
+     * @param inverseScalar The value to divide the resulting offset with.
+     *
+     * @return The inversely scaled y-offset of the entity.
+     */
+    public static double getOffsetYInverselyScaled(Entity entity, float inverseScalar) {
+        return Offsetter.getOffsets(entity).y / inverseScalar;
+    }
 
-        } else
-            return offsets;
+    /**
+     * Gets the z-offset of an entity divided by the scalar value.
+     *
+     * @param entity The entity to get the offsets from.
+     * @param inverseScalar The value to divide the resulting offset with.
+     *
+     * @return The inversely scaled z-offset of the entity.
+     */
+    public static double getOffsetZInverselyScaled(Entity entity, float inverseScalar) {
+        return Offsetter.getOffsets(entity).z / inverseScalar;
     }
 
     /**
@@ -253,6 +161,21 @@ public class BytecodeHelper {
         return Offsetter.getOffsets(playerInteractionManager.player);
     }
 
+    /**
+     * Checks whether the player in an interaction manager may reach a block, which they may not if they are offset and
+     *   the block is in a chunk that is not loaded.
+     *
+     * @param playerInteractionManager The interaction manager containing the player.
+     * @param blockPosition The position of the block being reached for.
+     *
+     * @return Whether the block may be reached.
+     */
+    public static boolean isBlockReachableFromManager(PlayerInteractionManager playerInteractionManager, BlockPos blockPosition) {
+        PlayerEntity playerEntity = playerInteractionManager.player;
+
+        return !Offsetter.isOffset(playerEntity) || OffsetWorldAccess.isReachable(playerEntity.world, blockPosition.getX(), blockPosition.getZ());
+    }
+
     /**
      * Either returns the LivingEntity's offsets or the zero vector, randomly.
      *
@@ -297,6 +220,24 @@ public class BytecodeHelper {
         return dx * dx + dy * dy + dz * dz;
     }
 
+    /**
+     * Gets the corrected distance squared from a player to a point they are trying to reach.
+     * If the player is offset and the point is in a chunk that is not loaded, the point is treated as out of reach.
+     *
+     * @param playerEntity The player to use for the first position.
+     * @param x The x-position of the second position.
+     * @param y The y-position of the second position.
+     * @param z The z-position of the second position.
+     *
+     * @return The distance, squared, between the player and the point.
+     */
+    public static double modifiedGetReachDistanceSq(PlayerEntity playerEntity, double x, double y, double z) {
+        if (Offsetter.isOffset(playerEntity) && !OffsetWorldAccess.isReachable(playerEntity.world, x, z))
+            return Double.MAX_VALUE;
+
+        return modifiedGetDistanceSq(playerEntity, x, y, z);
+    }
+
     /**
      * Gets the corrected distance squared from an entity to an entity with offsets.
      *
@@ -308,7 +249,20 @@ public class BytecodeHelper {
     public static double modifiedGetDistanceSq(Entity entity, Entity offsetEntity) {
         Vec3d offsets = Offsetter.getOffsets(offsetEntity);
 
-        return !offsets.equals(Vec3d.ZERO) ? entity.getDistanceSq(offsetEntity.getPositionVec().add(offsets)) : entity.getDistanceSq(offsetEntity);
+        return !offsets.equals(Vec3d.ZERO) ? getDistanceSqToOffsetPosition(entity, offsetEntity, offsets) : entity.getDistanceSq(offsetEntity);
+    }
+
+    /**
+     * Gets the distance squared from an entity to the offset position of another, without creating any vectors.
+     *
+     * @param entity The entity to use for the first position.
+     * @param offsetEntity The entity whose offset position is used for the second position.
+     * @param offsets The offsets of the second entity.
+     *
+     * @return The distance, squared, between the entity and the offset position of the other one.
+     */
+    private static double getDistanceSqToOffsetPosition(Entity entity, Entity offsetEntity, Vec3d offsets) {
+        return entity.getDistanceSq(offsetEntity.getPosX() + offsets.x, offsetEntity.getPosY() + offsets.y, offsetEntity.getPosZ() + offsets.z);
     }
 
     /**
@@ -324,7 +278,7 @@ public class BytecodeHelper {
         Vec3d offsets = Offsetter.getOffsets(offsetEntity);
 
         return !offsets.equals(Vec3d.ZERO) ?
-                Math.min(entity.getDistanceSq(offsetEntity.getPositionVec().add(offsets)), originalDistanceSq) :
+                Math.min(getDistanceSqToOffsetPosition(entity, offsetEntity, offsets), originalDistanceSq) :
                 originalDistanceSq;
     }
 
@@ -354,7 +308,7 @@ public class BytecodeHelper {
      * @return The player closest to the target, or null.
      */
     public static PlayerEntity modifiedGetClosestPlayerOF(World world, EntityPredicate predicate, LivingEntity target) {
-        return modifiedGetClosestPlayer(world, predicate, target, BytecodeHelper::modifiedGetDistanceSq);
+        return modifiedGetClosestPlayer(world, predicate, target, target.getPosX(), target.getPosY(), target.getPosZ(), DistanceSqFunction.OFFSET_ONLY);
     }
 
     /**
@@ -373,9 +327,7 @@ public class BytecodeHelper {
      * @return The player closest to the target, or null.
      */
     public static PlayerEntity modifiedGetClosestPlayerNOOF(World world, EntityPredicate predicate, LivingEntity target, double targetX, double targetY, double targetZ) {
-        return modifiedGetClosestPlayer(world, predicate, target, (livingTarget, playerEntity) ->
-            Math.min(playerEntity.getDistanceSq(targetX, targetY, targetZ), modifiedGetDistanceSq(playerEntity, targetX, targetY, targetZ))
-        );
+        return modifiedGetClosestPlayer(world, predicate, target, targetX, targetY, targetZ, DistanceSqFunction.NORMAL_OR_OFFSET);
     }
 
     /**
@@ -391,9 +343,7 @@ public class BytecodeHelper {
      * @return The player closest to the target, or null.
      */
     public static PlayerEntity modifiedGetClosestPlayerNOOF(World world, EntityPredicate predicate, LivingEntity target) {
-        return modifiedGetClosestPlayer(world, predicate, target, (livingTarget, playerEntity) ->
-            Math.min(playerEntity.getDistanceSq(target), modifiedGetDistanceSq(target, playerEntity))
-        );
+        return modifiedGetClosestPlayer(world, predicate, target, target.getPosX(), target.getPosY(), target.getPosZ(), DistanceSqFunction.NORMAL_OR_OFFSET);
     }
 
     /**
@@ -404,23 +354,34 @@ public class BytecodeHelper {
      * @param world The world the target is in.
      * @param predicate A predicate to control which players can be targeted.
      * @param target The target entity.
-     * @param distanceSqFunction A function that accepts the target and player and calculates the distance squared between them.
+     * @param targetX The x-position to measure distances from.
+     * @param targetY The y-position to measure distances from.
+     * @param targetZ The z-position to measure distances from.
+     * @param distanceSqFunction A function that calculates the distance squared between a player and the target position.
      *      Whether to account for those offsets will depend on application.
      *
      * @return The player closest to the target, or null.
      */
-    public static PlayerEntity modifiedGetClosestPlayer(World world, EntityPredicate predicate, LivingEntity target, BiFunction<LivingEntity, PlayerEntity, Double> distanceSqFunction) {
-        List<? extends PlayerEntity> players =  target.world.getPlayers();
+    public static PlayerEntity modifiedGetClosestPlayer(World world, EntityPredicate predicate, LivingEntity target, double targetX, double targetY, double targetZ, DistanceSqFunction distanceSqFunction) {
+        List<? extends PlayerEntity> players = null;
+        double distance = Accessors.getDistance(predicate);
+
+        // Players beyond the predicate's distance can never be targeted, so only the nearby ones need checking.
+        if (distance > 0.0)
+            players = PlayerSpatialIndex.getPlayersNearOrNull(target.world, targetX, targetZ, distance);
+        if (players == null)
+            players = target.world.getPlayers();
+
         PlayerEntity closestPlayer = null;
         double smallestDistance = Double.MAX_VALUE;
 
         for (PlayerEntity playerEntity : players)
-            if (modifiedCanTarget(predicate, target, playerEntity, distanceSqFunction)) {
-                double distance = distanceSqFunction.apply(target, playerEntity);
+            if (modifiedCanTarget(predicate, target, playerEntity, targetX, targetY, targetZ, distanceSqFunction)) {
+                double distanceSq = distanceSqFunction.getDistanceSq(playerEntity, targetX, targetY, targetZ);
 
-                if (distance < smallestDistance) {
+                if (distanceSq < smallestDistance) {
                     closestPlayer = playerEntity;
-                    smallestDistance = distance;
+                    smallestDistance = distanceSq;
                 }
             }
 
@@ -433,48 +394,51 @@ public class BytecodeHelper {
      * @param predicate A predicate to control whether the entity can be targeted.
      * @param attacker The entity attempting to target.
      * @param target The entity being targeted.
-     * @param distanceSqFunction A function that accepts the attacker and target (the one with offsets) and calculates the distance squared between them.
-     *      Whether to account for those offsets will depend on application.
+     * @param attackerX The x-position of the attacker.
+     * @param attackerY The y-position of the attacker.
+     * @param attackerZ The z-position of the attacker.
+     * @param distanceSqFunction A function that calculates the distance squared between the target (the one with offsets)
+     *      and the attacker's position. Whether to account for those offsets will depend on application.
      *
      * @return Whether the target can be targeted.
      */
-    public static boolean modifiedCanTarget(EntityPredicate predicate, LivingEntity attacker, PlayerEntity target, BiFunction<LivingEntity, PlayerEntity, Double> distanceSqFunction) {
+    public static boolean modifiedCanTarget(EntityPredicate predicate, LivingEntity attacker, PlayerEntity target, double attackerX, double attackerY, double attackerZ, DistanceSqFunction distanceSqFunction) {
         if (attacker == target) {
             return false;
 
         } else if (target.isSpectator() || !target.isAlive()
-                || (!((boolean) ReflectionHelper.getValueOrDefault(FIELD_allowInvulnerable, predicate, false)) && target.isInvulnerable())) {
+                || (!Accessors.getAllowInvulnerable(predicate) && target.isInvulnerable())) {
             return false;
 
         } else {
-            Predicate<LivingEntity> customPredicate = (Predicate<LivingEntity>) ReflectionHelper.getValueOrDefault(FIELD_customPredicate, predicate, null);
+            Predicate<LivingEntity> customPredicate = Accessors.getCustomPredicate(predicate);
 
             if (customPredicate != null && !customPredicate.test(target)) {
                 return false;
 
             } else {
                 if (attacker != null) {
-                    if (!((boolean) ReflectionHelper.getValueOrDefault(FIELD_skipAttackChecks, predicate, false))
+                    if (!Accessors.getSkipAttackChecks(predicate)
                             && (!attacker.canAttack(target) || !attacker.canAttack(target.getType())))
                         return false;
 
-                    if (!((boolean) ReflectionHelper.getValueOrDefault(FIELD_friendlyFire, predicate, false)) && attacker.isOnSameTeam(target))
+                    if (!Accessors.getFriendlyFire(predicate) && attacker.isOnSameTeam(target))
                         return false;
 
 
-                    double distance = (double) ReflectionHelper.getValueOrDefault(FIELD_distance, predicate, -1.0);
+                    double distance = Accessors.getDistance(predicate);
 
                     if (distance > 0.0) {
-                        double visibilityModifier = ((boolean) ReflectionHelper.getValueOrDefault(FIELD_useVisibilityModifier, predicate, true))
+                        double visibilityModifier = Accessors.getUseVisibilityModifier(predicate)
                                 ? target.getVisibilityMultiplier(attacker) : 1.0;
                         double visibleDistance = distance * visibilityModifier;
 
-                        if (distanceSqFunction.apply(attacker, target) > visibleDistance * visibleDistance)
+                        if (distanceSqFunction.getDistanceSq(target, attackerX, attackerY, attackerZ) > visibleDistance * visibleDistance)
                             return false;
                     }
 
 
-                    if (!((boolean) ReflectionHelper.getValueOrDefault(FIELD_requireLineOfSight, predicate, false)) && attacker instanceof MobEntity
+                    if (!Accessors.getRequireLineOfSight(predicate) && attacker instanceof MobEntity
                             && !((MobEntity) attacker).getEntitySenses().canSee(target))
                         return false;
                 }
@@ -495,9 +459,10 @@ public class BytecodeHelper {
      */
     public static boolean modifiedCanTargetNOOF(EntityPredicate predicate, LivingEntity attacker, LivingEntity target) {
         if (target instanceof PlayerEntity) {
-            return modifiedCanTarget(predicate, attacker, (PlayerEntity) target, (livingTarget, playerEntity) ->
-                    Math.min(livingTarget.getDistanceSq(livingTarget), modifiedGetDistanceSq(livingTarget, playerEntity))
-            );
+            // The attacker can be null, in which case its position is never used.
+            return attacker != null ?
+                    modifiedCanTarget(predicate, attacker, (PlayerEntity) target, attacker.getPosX(), attacker.getPosY(), attacker.getPosZ(), DistanceSqFunction.NORMAL_OR_OFFSET) :
+                    modifiedCanTarget(predicate, null, (PlayerEntity) target, 0, 0, 0, DistanceSqFunction.NORMAL_OR_OFFSET);
 
         } else
             return predicate.canTarget(attacker, target);
@@ -644,7 +609,7 @@ public class BytecodeHelper {
      * @return Either a zero vector or the entity's offsets.
      */
     public static Vec3d applyLookAtOffsetsRandomly(double x, double y, double z, LookAtGoal lookAtGoal) {
-        Entity closestEntity = (Entity) ReflectionHelper.getValueOrDefault(FIELD_closestEntity, lookAtGoal, null);
+        Entity closestEntity = Accessors.getClosestEntity(lookAtGoal);
         if (closestEntity == null) throw new NullPointerException("Unable to get value from 'LookAtGoal'");
 
         Vec3d offsets = Offsetter.getOffsets(closestEntity);
@@ -665,8 +630,7 @@ public class BytecodeHelper {
      * @param stareGoal The enderman's StareGoal. Must be an instance of StareGoal.
      */
     public static void applyLookAtOffsetsRandomly(LookController lookController, double x, double eyePosition, double z, Object stareGoal) {
-        EndermanEntity enderman = (EndermanEntity) ReflectionHelper.getValueOrDefault(FIELD_enderman, stareGoal, null);
-        if (enderman == null) throw new NullPointerException("Unable to get value from 'FIELD_enderman'");
+        EndermanEntity enderman = Accessors.getEnderman(stareGoal);
         LivingEntity attackTarget = enderman.getAttackTarget();
         Vec3d offsets = Offsetter.getOffsets(attackTarget);
 
@@ -727,14 +691,14 @@ public class BytecodeHelper {
      * @param temptGoal The tempt goal to offset the target position of.
      */
     public static void offsetTargetPosition(TemptGoal temptGoal) {
-        PlayerEntity closestPlayer = (PlayerEntity) ReflectionHelper.getValueOrDefault(FIELD_closestPlayer, temptGoal, null);
+        PlayerEntity closestPlayer = Accessors.getClosestPlayer(temptGoal);
         if (closestPlayer == null) throw new NullPointerException("Unable to get value from 'TemptGoal'");
 
         Vec3d offsets = Offsetter.getOffsets(closestPlayer);
 
-        ReflectionHelper.setValue(FIELD_targetX, temptGoal, offsets.x + (double) ReflectionHelper.getValueOrDefault(FIELD_targetX, temptGoal, closestPlayer.getPosX()));
-        ReflectionHelper.setValue(FIELD_targetY, temptGoal, offsets.y + (double) ReflectionHelper.getValueOrDefault(FIELD_targetY, temptGoal, closestPlayer.getPosY()));
-        ReflectionHelper.setValue(FIELD_targetZ, temptGoal, offsets.z + (double) ReflectionHelper.getValueOrDefault(FIELD_targetZ, temptGoal, closestPlayer.getPosZ()));
+        Accessors.setTargetX(temptGoal, offsets.x + Accessors.getTargetX(temptGoal));
+        Accessors.setTargetY(temptGoal, offsets.y + Accessors.getTargetY(temptGoal));
+        Accessors.setTargetZ(temptGoal, offsets.z + Accessors.getTargetZ(temptGoal));
     }
 
     /**
@@ -752,8 +716,7 @@ public class BytecodeHelper {
             Vec3d offsets = Offsetter.getOffsets(offsetEntity);
 
             if (!offsets.equals(Vec3d.ZERO)) {
-                Double eyePosition = (Double) ReflectionHelper.invokeMethod(METHOD_getEyePosition, lookController, offsetEntity);
-                if (eyePosition == null) throw new NullPointerException("Unable to invoke method in 'LookController'");
+                double eyePosition = Accessors.getEyePosition(offsetEntity);
 
                 lookController.setLookPosition(offsetEntity.getPosX() + offsets.x, eyePosition + offsets.y, offsetEntity.getPosZ() + offsets.z, deltaYaw, deltaPitch);
                 return;
@@ -779,8 +742,8 @@ public class BytecodeHelper {
             Vec3d offsets = Offsetter.getOffsets((PlayerEntity) offsetTarget);
 
             if (!offsets.equals(Vec3d.ZERO)) {
-                Path pathToEntity = (Path) ReflectionHelper.invokeMethod(METHOD_func_225464_a, pathNavigator,
-                        ImmutableSet.of(new BlockPos(offsetTarget.getPositionVector().add(offsets))), 16, true, 1);
+                Path pathToEntity = Accessors.func_225464_a(pathNavigator,
+                        ImmutableSet.of(new BlockPos(offsetTarget.getPosX() + offsets.x, offsetTarget.getPosY() + offsets.y, offsetTarget.getPosZ() + offsets.z)), 16, true, 1);
                 return pathToEntity != null && pathNavigator.setPath(pathToEntity, speed);
             }
         }
@@ -830,19 +793,19 @@ public class BytecodeHelper {
     }
 
     /**
-     * Gets whether the axis aligned bounding box, after being offset, is in the frustum of the camera.
+     * Gets the bounding box to test against the frustum of the camera, which, for offset players, covers both halves of
+     *   them, so that a single test decides whether either half is in view.
      *
+     * @param axisAlignedBB The axis aligned bounding box that would normally be tested.
      * @param entity The entity that is being rendered.
-     * @param camera The camera to get the frustum from.
-     * @param axisAlignedBB The axis aligned bounding box to check.
      *
-     * @return Whether the axis aligned bounding box is in the frustum of the camera.
+     * @return The bounding box to test against the frustum.
      */
     @OnlyIn(Dist.CLIENT)
-    public static boolean modifiedIsBoundingBoxInFrustum(boolean originalResult, Entity entity, ClippingHelperImpl camera, AxisAlignedBB axisAlignedBB) {
-        Vec3d offsets = Offsetter.getOffsets(entity);
+    public static AxisAlignedBB modifiedGetFrustumBoundingBox(AxisAlignedBB axisAlignedBB, Entity entity) {
+        RenderingOffsets renderingOffsets = RenderingOffsetter.getOffsetsOrNull(entity);
 
-        return !offsets.equals(Vec3d.ZERO) ? camera.isBoundingBoxInFrustum(axisAlignedBB.offset(offsets)) : originalResult;
+        return renderingOffsets != null ? renderingOffsets.getCullingBox(axisAlignedBB) : axisAlignedBB;
     }
 
 
@@ -856,24 +819,22 @@ public class BytecodeHelper {
      * @return Either the original distance squared or the distance squared to the player's offset position.
      */
     public static double redoIsWithinMaxDistance(double originalDistanceSq, LookAtGoal lookAtGoal) {
-        float maxDistanceSq = (float) ReflectionHelper.getValueOrDefault(FIELD_maxDistance, lookAtGoal, Float.NaN);
-        if (Float.isNaN(maxDistanceSq)) throw new NullPointerException("Unable to get value from 'FIELD_maxDistance'");
+        float maxDistanceSq = Accessors.getMaxDistance(lookAtGoal);
         maxDistanceSq *= maxDistanceSq;
 
         if (originalDistanceSq <= (double) maxDistanceSq)
             return originalDistanceSq;
 
 
-        Entity closestEntity = (Entity) ReflectionHelper.getValueOrDefault(FIELD_closestEntity, lookAtGoal, null);
-        if (closestEntity == null) throw new NullPointerException("Unable to get value from 'FIELD_closestEntity'");
+        Entity closestEntity = Accessors.getClosestEntity(lookAtGoal);
+        if (closestEntity == null) throw new NullPointerException("Unable to get value from 'closestEntity'");
 
         Vec3d offsets = Offsetter.getOffsets(closestEntity);
 
         if (!offsets.equals(Vec3d.ZERO)) {
-            Entity entity = (Entity) ReflectionHelper.getValueOrDefault(FIELD_entity, lookAtGoal, null);
-            if (entity == null) throw new NullPointerException("Unable to get value from 'FIELD_entity'");
+            Entity entity = Accessors.getEntity(lookAtGoal);
 
-            return entity.getDistanceSq(closestEntity.getPositionVector().add(offsets));
+            return getDistanceSqToOffsetPosition(entity, closestEntity, offsets);
         }
 
         return originalDistanceSq;
@@ -886,15 +847,26 @@ public class BytecodeHelper {
      * @param stareGoal The enderman's StareGoal. Must be an instance of StareGoal.
      */
     public static double redoShouldExecuteRangeCheck(double originalDistanceSq, Object stareGoal) {
-        EndermanEntity enderman = (EndermanEntity) ReflectionHelper.getValueOrDefault(FIELD_enderman, stareGoal, null);
-        if (enderman == null) throw new NullPointerException("Unable to get value from 'FIELD_enderman'");
+        EndermanEntity enderman = Accessors.getEnderman(stareGoal);
         LivingEntity attackTarget = enderman.getAttackTarget();
         Vec3d offsets = Offsetter.getOffsets(attackTarget);
 
         if (offsets.equals(Vec3d.ZERO))
             return originalDistanceSq;
 
-        return Math.min(originalDistanceSq, enderman.getDistanceSq(attackTarget.getPositionVec().add(offsets)));
+        return Math.min(originalDistanceSq, getDistanceSqToOffsetPosition(enderman, attackTarget, offsets));
+    }
+
+    /**
+     * Raytraces through blocks from a possibly offset position without loading any chunks.
+     *
+     * @param world The world to raytrace in.
+     * @param context The context of the raytrace.
+     *
+     * @return The result of the raytrace, or a miss if it passes through chunks that are not loaded.
+     */
+    public static BlockRayTraceResult modifiedRayTraceBlocks(World world, RayTraceContext context) {
+        return OffsetWorldAccess.rayTraceBlocks(world, context);
     }
 
     /**
@@ -909,10 +881,27 @@ public class BytecodeHelper {
      * @return Whether the entity can bee seen by the other.
      */
     public static boolean redoCanEntityBeSeen(boolean originalResult, LivingEntity livingEntity, Entity entity, Vec3d livingEntityPosition, Vec3d entityPosition) {
-        if (!(entity instanceof PlayerEntity))
+        if (originalResult || !(entity instanceof PlayerEntity))
             return originalResult;
 
-        return originalResult || livingEntity.world.rayTraceBlocks(new RayTraceContext(livingEntityPosition, offsetVector(entityPosition, entity), RayTraceContext.BlockMode.COLLIDER, RayTraceContext.FluidMode.NONE, livingEntity)).getType() == RayTraceResult.Type.MISS;
+        Vec3d offsets = Offsetter.getOffsets((PlayerEntity) entity);
+        if (offsets.equals(Vec3d.ZERO))
+            return false;
+
+        boolean isServer = !livingEntity.world.isRemote;
+
+        if (isServer) {
+            byte cachedResult = SightCache.get(livingEntity, entity);
+            if (cachedResult != -1)
+                return cachedResult == 1;
+        }
+
+        boolean canSee = OffsetWorldAccess.canSee(livingEntity.world, livingEntityPosition, entityPosition.add(offsets), livingEntity);
+
+        if (isServer)
+            SightCache.put(livingEntity, entity, canSee);
+
+        return canSee;
     }
 
     /**
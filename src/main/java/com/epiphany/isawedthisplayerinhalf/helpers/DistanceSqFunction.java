@@ -0,0 +1,58 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import net.minecraft.entity.player.PlayerEntity;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Calculates the distance squared from a player to a point, taking the player's offsets into account in whatever way
+ *   the caller needs.
+ * Takes and returns primitives so that closest-player searches and targeting checks do not box a double for every
+ *   candidate player.
+ */
+@FunctionalInterface
+public interface DistanceSqFunction {
+    /**
+     * Only checks the distance to the player's offset position.
+     */
+    DistanceSqFunction OFFSET_ONLY = BytecodeHelper::modifiedGetDistanceSq;
+    /**
+     * Checks the distance to both the player's normal and offset positions, returning the smaller of the two.
+     */
+    DistanceSqFunction NORMAL_OR_OFFSET = (playerEntity, x, y, z) ->
+            Math.min(playerEntity.getDistanceSq(x, y, z), BytecodeHelper.modifiedGetDistanceSq(playerEntity, x, y, z));
+
+    /**
+     * Calculates the distance squared from a player to a point.
+     *
+     * @param playerEntity The player, who may have offsets.
+     * @param x The x-position of the point.
+     * @param y The y-position of the point.
+     * @param z The z-position of the point.
+     *
+     * @return The distance, squared, between the player and the point.
+     */
+    double getDistanceSq(PlayerEntity playerEntity, double x, double y, double z);
+}
@@ -0,0 +1,123 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+
+import java.lang.invoke.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Bootstraps the invokedynamic call sites that the coremods use for hooks that leave one of their arguments untouched
+ *   when no player is offset.
+ * While nobody is offset, the call sites link straight to that argument, guarded by a switch point, so the JIT can fold
+ *   the hook away entirely. Once someone becomes offset the switch point is invalidated, sending every call site to the
+ *   hook, and once everyone is back to zero the call sites are re-armed with a fresh switch point.
+ */
+public class HookGuard {
+    private static final List<GuardedCallSite> callSites = new ArrayList<>();
+    private static SwitchPoint noOffsetsSwitchPoint = new SwitchPoint();
+    private static boolean armed = true;
+
+    /**
+     * Bootstrap method for hooks that, when no player is offset, return one of their arguments unchanged.
+     * Called by the JVM when linking the invokedynamic instructions inserted by the coremods.
+     *
+     * @param lookup The lookup of the class containing the call site.
+     * @param hookName The name of the hook in {@link BytecodeHelper}.
+     * @param hookType The type of the hook.
+     * @param passthroughIndex The index of the argument that the hook returns when no player is offset.
+     *
+     * @return The call site for the hook.
+     */
+    public static CallSite bootstrapPassthrough(MethodHandles.Lookup lookup, String hookName, MethodType hookType,
+                                                int passthroughIndex) throws NoSuchMethodException, IllegalAccessException {
+        MethodHandle hook = lookup.findStatic(BytecodeHelper.class, hookName, hookType);
+
+        List<Class<?>> parameterTypes = hookType.parameterList();
+        MethodHandle passthrough = MethodHandles.identity(hookType.returnType());
+        passthrough = MethodHandles.dropArguments(passthrough, 1, parameterTypes.subList(passthroughIndex + 1, parameterTypes.size()));
+        passthrough = MethodHandles.dropArguments(passthrough, 0, parameterTypes.subList(0, passthroughIndex));
+
+        GuardedCallSite callSite = new GuardedCallSite(hookType, passthrough, hook);
+
+        synchronized (HookGuard.class) {
+            callSite.arm(armed ? noOffsetsSwitchPoint : null);
+            callSites.add(callSite);
+        }
+
+        return callSite;
+    }
+
+    /**
+     * Re-evaluates whether any player is offset, switching the call sites between the hooks and the fast path as needed.
+     * Called whenever an offset is set or removed.
+     */
+    public static synchronized void update() {
+        boolean anyPlayerOffset = Offsetter.anyPlayerOffset();
+
+        if (anyPlayerOffset && armed) {
+            armed = false;
+            SwitchPoint.invalidateAll(new SwitchPoint[]{noOffsetsSwitchPoint});
+
+        } else if (!anyPlayerOffset && !armed) {
+            armed = true;
+            noOffsetsSwitchPoint = new SwitchPoint();
+
+            for (GuardedCallSite callSite : callSites)
+                callSite.arm(noOffsetsSwitchPoint);
+            if (!callSites.isEmpty())
+                MutableCallSite.syncAll(callSites.toArray(new MutableCallSite[0]));
+        }
+    }
+
+
+
+    /**
+     * A call site that remembers its hook and fast path so that it can be re-armed.
+     */
+    private static class GuardedCallSite extends MutableCallSite {
+        private final MethodHandle passthrough;
+        private final MethodHandle hook;
+
+        private GuardedCallSite(MethodType type, MethodHandle passthrough, MethodHandle hook) {
+            super(type);
+
+            this.passthrough = passthrough;
+            this.hook = hook;
+        }
+
+        /**
+         * Links the call site to the fast path guarded by the given switch point, or straight to the hook if there is
+         *   none.
+         *
+         * @param switchPoint The switch point to guard the fast path with, or null.
+         */
+        private void arm(SwitchPoint switchPoint) {
+            this.setTarget(switchPoint != null ? switchPoint.guardWithTest(this.passthrough, this.hook) : this.hook);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.*;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.AbstractChunkProvider;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Block access towards offset positions that never loads chunks.
+ * Offsets can be arbitrarily large, so the raytraces and reach checks done from or towards offset positions can land in
+ *   chunks that are not loaded, and reading blocks there would load them synchronously. Instead, the chunks are checked
+ *   first, and the access is treated as not visible or out of reach if any of them are not loaded.
+ */
+public class OffsetWorldAccess {
+    // Counts of how often accesses were refused because of unloaded chunks.
+    private static final AtomicLong refusedSightChecks = new AtomicLong();
+    private static final AtomicLong refusedRaytraces = new AtomicLong();
+    private static final AtomicLong refusedReachChecks = new AtomicLong();
+
+    /**
+     * Checks whether one position can be seen from another, treating it as not visible if the line between them passes
+     *   through any chunks that are not loaded.
+     *
+     * @param world The world to check in.
+     * @param start The position to look from.
+     * @param end The position to look at.
+     * @param entity The entity doing the looking.
+     *
+     * @return Whether nothing blocks the line between the two positions.
+     */
+    public static boolean canSee(World world, Vec3d start, Vec3d end, Entity entity) {
+        if (!isSegmentLoaded(world, start.x, start.z, end.x, end.z)) {
+            refusedSightChecks.incrementAndGet();
+            return false;
+        }
+
+        return world.rayTraceBlocks(new RayTraceContext(start, end, RayTraceContext.BlockMode.COLLIDER, RayTraceContext.FluidMode.NONE, entity))
+                .getType() == RayTraceResult.Type.MISS;
+    }
+
+    /**
+     * Raytraces through blocks, returning a miss instead if the raytrace passes through any chunks that are not loaded.
+     *
+     * @param world The world to raytrace in.
+     * @param context The context of the raytrace.
+     *
+     * @return The result of the raytrace.
+     */
+    public static BlockRayTraceResult rayTraceBlocks(World world, RayTraceContext context) {
+        Vec3d start = context.getStartVec();
+        Vec3d end = context.getEndVec();
+
+        if (!isSegmentLoaded(world, start.x, start.z, end.x, end.z)) {
+            refusedRaytraces.incrementAndGet();
+
+            Vec3d direction = start.subtract(end);
+            return BlockRayTraceResult.createMiss(end, Direction.getFacingFromVector(direction.x, direction.y, direction.z), new BlockPos(end));
+        }
+
+        return world.rayTraceBlocks(context);
+    }
+
+    /**
+     * Checks whether a position can be reached, which is only the case if the chunk it is in is loaded.
+     *
+     * @param world The world the position is in.
+     * @param x The x-position to check.
+     * @param z The z-position to check.
+     *
+     * @return Whether the chunk containing the position is loaded.
+     */
+    public static boolean isReachable(World world, double x, double z) {
+        if (!world.getChunkProvider().chunkExists(MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4)) {
+            refusedReachChecks.incrementAndGet();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether every chunk column that the line between two positions passes through is loaded.
+     *
+     * @param world The world to check in.
+     * @param startX The x-position of the start of the line.
+     * @param startZ The z-position of the start of the line.
+     * @param endX The x-position of the end of the line.
+     * @param endZ The z-position of the end of the line.
+     *
+     * @return Whether all of the chunks along the line are loaded.
+     */
+    public static boolean isSegmentLoaded(World world, double startX, double startZ, double endX, double endZ) {
+        AbstractChunkProvider chunkProvider = world.getChunkProvider();
+        int chunkX = MathHelper.floor(startX) >> 4;
+        int chunkZ = MathHelper.floor(startZ) >> 4;
+        int endChunkX = MathHelper.floor(endX) >> 4;
+        int endChunkZ = MathHelper.floor(endZ) >> 4;
+
+        if (!chunkProvider.chunkExists(chunkX, chunkZ))
+            return false;
+
+
+        // Walks the chunk columns the line crosses, in order, stepping along whichever axis reaches a border first.
+        double deltaX = endX - startX;
+        double deltaZ = endZ - startZ;
+        int stepX = deltaX > 0 ? 1 : -1;
+        int stepZ = deltaZ > 0 ? 1 : -1;
+        double nextBorderX = deltaX != 0 ? ((stepX > 0 ? (chunkX + 1) * 16 : chunkX * 16) - startX) / deltaX : Double.POSITIVE_INFINITY;
+        double nextBorderZ = deltaZ != 0 ? ((stepZ > 0 ? (chunkZ + 1) * 16 : chunkZ * 16) - startZ) / deltaZ : Double.POSITIVE_INFINITY;
+        double borderSpacingX = deltaX != 0 ? 16 / Math.abs(deltaX) : Double.POSITIVE_INFINITY;
+        double borderSpacingZ = deltaZ != 0 ? 16 / Math.abs(deltaZ) : Double.POSITIVE_INFINITY;
+
+        int remainingSteps = Math.abs(endChunkX - chunkX) + Math.abs(endChunkZ - chunkZ);
+
+        for (; remainingSteps > 0; remainingSteps--) {
+            if (chunkZ == endChunkZ || (chunkX != endChunkX && nextBorderX < nextBorderZ)) {
+                chunkX += stepX;
+                nextBorderX += borderSpacingX;
+
+            } else {
+                chunkZ += stepZ;
+                nextBorderZ += borderSpacingZ;
+            }
+
+            if (!chunkProvider.chunkExists(chunkX, chunkZ))
+                return false;
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * Returns how many line-of-sight checks towards offset positions were refused because of unloaded chunks.
+     *
+     * @return The number of refused line-of-sight checks.
+     */
+    public static long getRefusedSightChecks() {
+        return refusedSightChecks.get();
+    }
+
+    /**
+     * Returns how many block raytraces from offset positions were refused because of unloaded chunks.
+     *
+     * @return The number of refused raytraces.
+     */
+    public static long getRefusedRaytraces() {
+        return refusedRaytraces.get();
+    }
+
+    /**
+     * Returns how many reach checks towards blocks were refused because of unloaded chunks.
+     *
+     * @return The number of refused reach checks.
+     */
+    public static long getRefusedReachChecks() {
+        return refusedReachChecks.get();
+    }
+}
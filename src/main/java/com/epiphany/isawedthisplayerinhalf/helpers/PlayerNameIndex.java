@@ -0,0 +1,188 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Keeps the players on each side indexed by name, so they can be looked up without going through every player.
+ * Names are indexed in lowercase, matching how Minecraft treats them as unique regardless of case, and since the index
+ *   is sorted, players can also be found by the start of their name.
+ * The server side holds the players that are logged in, and the client side holds the players loaded in its world.
+ * Each side is only used from its own main thread.
+ */
+public class PlayerNameIndex {
+    private static final TreeMap<String, PlayerEntity> serverPlayers = new TreeMap<>();
+    private static final TreeMap<String, PlayerEntity> clientPlayers = new TreeMap<>();
+
+    /**
+     * Finds a logged-in player on the server by name.
+     * Exact matches, ignoring case, are preferred, but failing that a player is still found if they are the only one
+     *   whose name starts with the given name.
+     *
+     * @param name The name, or start of the name, of the player.
+     *
+     * @return The player, or null, if there is no such player or the name is ambiguous.
+     */
+    @Nullable
+    public static PlayerEntity findServerPlayerOrNull(String name) {
+        return findPlayerOrNull(serverPlayers, name);
+    }
+
+    /**
+     * Finds a player loaded on the client by name.
+     * Exact matches, ignoring case, are preferred, but failing that a player is still found if they are the only one
+     *   whose name starts with the given name.
+     *
+     * @param name The name, or start of the name, of the player.
+     *
+     * @return The player, or null, if there is no such player or the name is ambiguous.
+     */
+    @Nullable
+    public static PlayerEntity findClientPlayerOrNull(String name) {
+        return findPlayerOrNull(clientPlayers, name);
+    }
+
+    /**
+     * Gets the names of the players loaded on the client that start with the given prefix, ignoring case, in
+     *   alphabetical order.
+     *
+     * @param prefix The start of the names.
+     *
+     * @return The names of the matching players.
+     */
+    public static List<String> getClientNamesStartingWith(String prefix) {
+        NavigableMap<String, PlayerEntity> matches = getStartingWith(clientPlayers, prefix);
+        List<String> names = new ArrayList<>(matches.size());
+
+        for (PlayerEntity player : matches.values())
+            names.add(player.getName().getString());
+
+        return names;
+    }
+
+    @Nullable
+    private static PlayerEntity findPlayerOrNull(TreeMap<String, PlayerEntity> players, String name) {
+        String key = toKey(name);
+
+        PlayerEntity player = players.get(key);
+        if (player != null)
+            return player;
+
+        NavigableMap<String, PlayerEntity> matches = getStartingWith(players, key);
+        return matches.size() == 1 ? matches.firstEntry().getValue() : null;
+    }
+
+    private static NavigableMap<String, PlayerEntity> getStartingWith(TreeMap<String, PlayerEntity> players, String prefix) {
+        String key = toKey(prefix);
+        return players.subMap(key, true, key + Character.MAX_VALUE, false);
+    }
+
+    private static String toKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+
+
+    /**
+     * Indexes players as they log in to the server.
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent playerLoggedInEvent) {
+        PlayerEntity player = playerLoggedInEvent.getPlayer();
+
+        if (player instanceof ServerPlayerEntity)
+            serverPlayers.put(toKey(player.getName().getString()), player);
+    }
+
+    /**
+     * Points the index at the new player entity that replaces a player when they respawn.
+     */
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent playerRespawnEvent) {
+        PlayerEntity player = playerRespawnEvent.getPlayer();
+
+        if (player instanceof ServerPlayerEntity)
+            serverPlayers.put(toKey(player.getName().getString()), player);
+    }
+
+    /**
+     * Removes players from the index as they log out of the server.
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent playerLoggedOutEvent) {
+        PlayerEntity player = playerLoggedOutEvent.getPlayer();
+
+        if (player instanceof ServerPlayerEntity)
+            serverPlayers.remove(toKey(player.getName().getString()));
+    }
+
+    /**
+     * Indexes players as they are loaded on the client.
+     */
+    @SubscribeEvent
+    public static void onEntityJoinWorld(EntityJoinWorldEvent entityJoinWorldEvent) {
+        Entity entity = entityJoinWorldEvent.getEntity();
+
+        if (entity instanceof PlayerEntity && entityJoinWorldEvent.getWorld().isRemote)
+            clientPlayers.put(toKey(entity.getName().getString()), (PlayerEntity) entity);
+    }
+
+    /**
+     * Removes players from the index as they are unloaded on the client.
+     * Only removes them if they have not already been replaced by a newer entity with the same name.
+     */
+    @SubscribeEvent
+    public static void onEntityLeaveWorld(EntityLeaveWorldEvent entityLeaveWorldEvent) {
+        Entity entity = entityLeaveWorldEvent.getEntity();
+
+        if (entity instanceof PlayerEntity && entityLeaveWorldEvent.getWorld().isRemote)
+            clientPlayers.remove(toKey(entity.getName().getString()), entity);
+    }
+
+    /**
+     * Clears the client side of the index when the client's world is unloaded, since the players in it are not always
+     *   unloaded one by one.
+     */
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload worldUnloadEvent) {
+        if (worldUnloadEvent.getWorld().isRemote())
+            clientPlayers.clear();
+    }
+}
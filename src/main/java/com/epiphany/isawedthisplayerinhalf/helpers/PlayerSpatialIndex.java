@@ -0,0 +1,226 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * A per-world grid of chunk columns holding the players whose normal or offset positions lie within them.
+ * Lets closest-player searches only look at the players near the searching mob, instead of every player in the world.
+ * Each grid is rebuilt lazily, at most once per game tick, and again whenever any offsets change or any players join or
+ *   leave a world.
+ */
+public class PlayerSpatialIndex {
+    // Players can move a little between the grid being built and it being queried, so queries are widened by this much.
+    private static final double QUERY_MARGIN = 8.0;
+
+    // The grids hold onto the players in them, which hold onto their worlds, so the grids are removed by hand when their
+    //   worlds unload.
+    private static final Map<IWorld, PlayerGrid> playerGrids = new HashMap<>();
+    // Changes whenever a player joins or leaves any world.
+    private static final AtomicInteger membershipVersion = new AtomicInteger();
+
+    /**
+     * Gets the players in a world that might be within the given horizontal radius of a position, with either their
+     *   normal or their offset positions.
+     * The returned list is reused by the next query in the same world, and holds each player at most once.
+     * Returns null if the radius is too large for the grid to help, in which case every player should be checked.
+     *
+     * @param world The world to search in.
+     * @param x The x-position to search around.
+     * @param z The z-position to search around.
+     * @param radius The radius to search within.
+     *
+     * @return The players that might be in range, or null.
+     */
+    public static List<PlayerEntity> getPlayersNearOrNull(World world, double x, double z, double radius) {
+        PlayerGrid playerGrid;
+
+        synchronized (playerGrids) {
+            playerGrid = playerGrids.computeIfAbsent(world, ignored -> new PlayerGrid());
+        }
+
+        return playerGrid.query(world, x, z, radius);
+    }
+
+    /**
+     * Marks the grids as out of date when a player joins a world.
+     */
+    @SubscribeEvent
+    public static void onEntityJoinWorld(EntityJoinWorldEvent entityJoinWorldEvent) {
+        if (entityJoinWorldEvent.getEntity() instanceof PlayerEntity)
+            membershipVersion.incrementAndGet();
+    }
+
+    /**
+     * Marks the grids as out of date when a player leaves a world.
+     */
+    @SubscribeEvent
+    public static void onEntityLeaveWorld(EntityLeaveWorldEvent entityLeaveWorldEvent) {
+        if (entityLeaveWorldEvent.getEntity() instanceof PlayerEntity)
+            membershipVersion.incrementAndGet();
+    }
+
+    /**
+     * Drops the grid of a world when it unloads, along with the players in it.
+     */
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload worldUnloadEvent) {
+        synchronized (playerGrids) {
+            playerGrids.remove(worldUnloadEvent.getWorld());
+        }
+    }
+
+
+
+    /**
+     * The grid of a single world.
+     * Only ever used from the thread that ticks the world.
+     */
+    private static class PlayerGrid {
+        // The players in each chunk column by their normal positions.
+        private final Long2ObjectOpenHashMap<List<PlayerEntity>> cells = new Long2ObjectOpenHashMap<>();
+        // The players in each chunk column by their offset positions, only where that differs from their normal one.
+        private final Long2ObjectOpenHashMap<List<PlayerEntity>> offsetCells = new Long2ObjectOpenHashMap<>();
+        // The chunk columns of the normal positions of offset players, by entity id.
+        private final Int2LongOpenHashMap normalCellKeys = new Int2LongOpenHashMap();
+        private final List<PlayerEntity> candidates = new ArrayList<>();
+
+        private long builtGameTime = Long.MIN_VALUE;
+        private int builtOffsetsVersion;
+        private int builtMembershipVersion;
+
+        private List<PlayerEntity> query(World world, double x, double z, double radius) {
+            List<? extends PlayerEntity> players = world.getPlayers();
+            int cellRadius = (int) Math.ceil((radius + QUERY_MARGIN) / 16.0);
+            int cellSpan = cellRadius * 2 + 1;
+
+            // Scanning every player is cheaper than visiting that many cells.
+            if ((long) cellSpan * cellSpan > players.size())
+                return null;
+
+            long gameTime = world.getGameTime();
+            int offsetsVersion = Offsetter.getOffsetsVersion();
+            int currentMembershipVersion = membershipVersion.get();
+
+            if (gameTime != this.builtGameTime || offsetsVersion != this.builtOffsetsVersion || currentMembershipVersion != this.builtMembershipVersion) {
+                this.rebuild(players);
+
+                this.builtGameTime = gameTime;
+                this.builtOffsetsVersion = offsetsVersion;
+                this.builtMembershipVersion = currentMembershipVersion;
+            }
+
+
+            int minimumCellX = (MathHelper.floor(x) >> 4) - cellRadius, maximumCellX = (MathHelper.floor(x) >> 4) + cellRadius;
+            int minimumCellZ = (MathHelper.floor(z) >> 4) - cellRadius, maximumCellZ = (MathHelper.floor(z) >> 4) + cellRadius;
+            this.candidates.clear();
+
+            for (int cellX = minimumCellX; cellX <= maximumCellX; cellX++)
+                for (int cellZ = minimumCellZ; cellZ <= maximumCellZ; cellZ++) {
+                    long cellKey = ChunkPos.asLong(cellX, cellZ);
+                    List<PlayerEntity> cell = this.cells.get(cellKey);
+                    List<PlayerEntity> offsetCell = this.offsetCells.get(cellKey);
+
+                    if (cell != null)
+                        this.candidates.addAll(cell);
+
+                    // Players whose normal positions are in range have already been added.
+                    if (offsetCell != null)
+                        for (PlayerEntity playerEntity : offsetCell) {
+                            long normalCellKey = this.normalCellKeys.get(playerEntity.getEntityId());
+                            int normalCellX = (int) normalCellKey, normalCellZ = (int) (normalCellKey >>> 32);
+
+                            if (normalCellX < minimumCellX || normalCellX > maximumCellX || normalCellZ < minimumCellZ || normalCellZ > maximumCellZ)
+                                this.candidates.add(playerEntity);
+                        }
+                }
+
+            return this.candidates;
+        }
+
+        private void rebuild(List<? extends PlayerEntity> players) {
+            // Drops empty cells every so often so players wandering off do not leave the maps growing forever.
+            clearCells(this.cells, players.size());
+            clearCells(this.offsetCells, players.size());
+            this.normalCellKeys.clear();
+
+            for (PlayerEntity playerEntity : players) {
+                Vec3d offsets = Offsetter.getOffsets(playerEntity);
+                int cellX = MathHelper.floor(playerEntity.getPosX()) >> 4;
+                int cellZ = MathHelper.floor(playerEntity.getPosZ()) >> 4;
+                add(this.cells, cellX, cellZ, playerEntity);
+
+                if (!offsets.equals(Vec3d.ZERO)) {
+                    int offsetCellX = MathHelper.floor(playerEntity.getPosX() + offsets.x) >> 4;
+                    int offsetCellZ = MathHelper.floor(playerEntity.getPosZ() + offsets.z) >> 4;
+
+                    if (offsetCellX != cellX || offsetCellZ != cellZ) {
+                        add(this.offsetCells, offsetCellX, offsetCellZ, playerEntity);
+                        this.normalCellKeys.put(playerEntity.getEntityId(), ChunkPos.asLong(cellX, cellZ));
+                    }
+                }
+            }
+        }
+
+        private static void clearCells(Long2ObjectOpenHashMap<List<PlayerEntity>> cells, int playerCount) {
+            if (cells.size() > playerCount * 4 + 16)
+                cells.clear();
+            else
+                for (List<PlayerEntity> cell : cells.values())
+                    cell.clear();
+        }
+
+        private static void add(Long2ObjectOpenHashMap<List<PlayerEntity>> cells, int cellX, int cellZ, PlayerEntity playerEntity) {
+            long cellKey = ChunkPos.asLong(cellX, cellZ);
+            List<PlayerEntity> cell = cells.get(cellKey);
+
+            if (cell == null) {
+                cell = new ArrayList<>();
+                cells.put(cellKey, cell);
+            }
+
+            cell.add(playerEntity);
+        }
+    }
+}
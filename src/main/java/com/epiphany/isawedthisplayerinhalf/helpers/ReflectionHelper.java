@@ -1,6 +1,10 @@
 package com.epiphany.isawedthisplayerinhalf.helpers;
 
 import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -179,6 +183,75 @@ public class ReflectionHelper {
 
 
 
+    /**
+     * Creates a method handle that gets the value of a field, adapted to the given type, or null, if something goes
+     *   wrong.
+     * Meant to be stored in a static final field and called with invokeExact, so that the JIT can treat it like a
+     *   normal field access.
+     *
+     * @param field The field to create the getter for.
+     * @param type The type of the getter, taking the owning object (if non-static) and returning the field's value.
+     *
+     * @return A getter for the field, or null.
+     */
+    public static MethodHandle unreflectGetterOrNull(@Nullable Field field, MethodType type) {
+        if (field == null)
+            return null;
+
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(type);
+
+        } catch (IllegalAccessException | WrongMethodTypeException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Creates a method handle that sets the value of a field, adapted to the given type, or null, if something goes
+     *   wrong.
+     *
+     * @param field The field to create the setter for.
+     * @param type The type of the setter, taking the owning object (if non-static) and the new value.
+     *
+     * @return A setter for the field, or null.
+     */
+    public static MethodHandle unreflectSetterOrNull(@Nullable Field field, MethodType type) {
+        if (field == null)
+            return null;
+
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(type);
+
+        } catch (IllegalAccessException | WrongMethodTypeException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Creates a method handle that invokes a method, adapted to the given type, or null, if something goes wrong.
+     *
+     * @param method The method to create the handle for.
+     * @param type The type of the handle, taking the owning object (if non-static) and the method's arguments.
+     *
+     * @return A handle for the method, or null.
+     */
+    public static MethodHandle unreflectOrNull(@Nullable Method method, MethodType type) {
+        if (method == null)
+            return null;
+
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(type);
+
+        } catch (IllegalAccessException | WrongMethodTypeException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+
+
     /**
      * Gets the class under the given fully-qualified name
      *
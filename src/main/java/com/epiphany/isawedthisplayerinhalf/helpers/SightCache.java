@@ -0,0 +1,125 @@
+package com.epiphany.isawedthisplayerinhalf.helpers;
+
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Remembers the results of the extra line-of-sight raytraces done towards offset players for the rest of the server
+ *   tick, since the same mob often asks about the same player several times per tick.
+ * Only used on the logical server, from the server thread.
+ */
+public class SightCache {
+    private static final byte NOT_CACHED = -1;
+    private static final int MAXIMUM_ENTRIES = 4096;
+
+    private static final Long2ByteOpenHashMap sightResults = new Long2ByteOpenHashMap();
+    private static int cachedOffsetsVersion;
+
+    private static long hits = 0;
+    private static long misses = 0;
+
+    static {
+        sightResults.defaultReturnValue(NOT_CACHED);
+    }
+
+    /**
+     * Gets the cached result of whether the observer can see the offset position of the target this tick.
+     *
+     * @param observer The entity that is looking.
+     * @param target The entity being looked at.
+     *
+     * @return 1 if visible, 0 if not, or -1 if nothing is cached.
+     */
+    static byte get(Entity observer, Entity target) {
+        int offsetsVersion = Offsetter.getOffsetsVersion();
+
+        if (offsetsVersion != cachedOffsetsVersion) {
+            sightResults.clear();
+            cachedOffsetsVersion = offsetsVersion;
+        }
+
+        byte result = sightResults.get(getKey(observer, target));
+
+        if (result != NOT_CACHED)
+            hits++;
+        else
+            misses++;
+
+        return result;
+    }
+
+    /**
+     * Caches whether the observer can see the offset position of the target for the rest of the tick.
+     *
+     * @param observer The entity that is looking.
+     * @param target The entity being looked at.
+     * @param canSee Whether the observer can see the target.
+     */
+    static void put(Entity observer, Entity target, boolean canSee) {
+        if (sightResults.size() < MAXIMUM_ENTRIES)
+            sightResults.put(getKey(observer, target), canSee ? (byte) 1 : (byte) 0);
+    }
+
+    private static long getKey(Entity observer, Entity target) {
+        return ((long) observer.getEntityId() << 32) | (target.getEntityId() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns how many lookups were answered from the cache, and so how many raytraces were saved.
+     *
+     * @return The number of cache hits.
+     */
+    public static long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns how many lookups had to do a raytrace.
+     *
+     * @return The number of cache misses.
+     */
+    public static long getMisses() {
+        return misses;
+    }
+
+
+
+    /**
+     * Clears the cache at the end of every server tick.
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent serverTickEvent) {
+        if (serverTickEvent.phase != TickEvent.Phase.END)
+            return;
+
+        if (!sightResults.isEmpty())
+            sightResults.clear();
+    }
+}
@@ -0,0 +1,130 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import com.epiphany.isawedthisplayerinhalf.ISawedThisPlayerInHalf;
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.I18n;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.fml.network.NetworkEvent;
+import org.apache.logging.log4j.Level;
+
+import java.util.function.Supplier;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Carries the offsets of several players from the server to a client at once.
+ * Unlike {@link SetOffsetsPacket}, this is never used to answer a client's own request to change their offsets.
+ */
+public class BulkSetOffsetsPacket implements IPacket {
+    private final int[] playerIDs;
+    // x, y, and z offsets, interleaved.
+    private final double[] offsets;
+    private final int[] transitionTicks;
+
+    /**
+     * Creates a new BulkSetOffsetsPacket.
+     *
+     * @param playerIDs The entity ids of the players whose offsets are being sent.
+     * @param offsets The offsets of the players, with the x, y, and z offsets of each player one after another.
+     * @param transitionTicks How many ticks the client should take to render the change for each player, or
+     *   {@link Offsetter#DEFAULT_TRANSITION} to leave it up to the client.
+     */
+    BulkSetOffsetsPacket(int[] playerIDs, double[] offsets, int[] transitionTicks) {
+        this.playerIDs = playerIDs;
+        this.offsets = offsets;
+        this.transitionTicks = transitionTicks;
+    }
+
+    /**
+     * Recreates a BulkSetOffsetsPacket from the information sent from the other side.
+     *
+     * @param packetBuffer The buffer of the sent packet.
+     */
+    public BulkSetOffsetsPacket(PacketBuffer packetBuffer) {
+        int count = packetBuffer.readVarInt();
+        // Anything claiming more entries than could fit in the packet is a lie.
+        if (count < 0 || count > packetBuffer.readableBytes() / OffsetsCodec.MINIMUM_ENTRY_SIZE)
+            count = 0;
+
+        this.playerIDs = new int[count];
+        this.offsets = new double[count * 3];
+        this.transitionTicks = new int[count];
+
+        for (int i = 0; i < count; i++)
+            OffsetsCodec.read(packetBuffer, this.playerIDs, this.offsets, this.transitionTicks, i);
+    }
+
+    @Override
+    public void toBytes(PacketBuffer packetBuffer) {
+        packetBuffer.writeVarInt(this.playerIDs.length);
+
+        for (int i = 0; i < this.playerIDs.length; i++)
+            OffsetsCodec.write(packetBuffer, this.playerIDs[i], this.offsets[i * 3], this.offsets[i * 3 + 1], this.offsets[i * 3 + 2],
+                    this.transitionTicks[i]);
+    }
+
+
+
+    @Override
+    public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+        NetworkEvent.Context context = contextSupplier.get();
+
+        DistExecutor.runWhenOn(Dist.CLIENT, () -> () -> NetworkMetrics.enqueueWork(context, this, () -> {
+            Minecraft minecraftInstance = Minecraft.getInstance();
+            if (minecraftInstance.world == null)
+                return;
+
+            for (int i = 0; i < this.playerIDs.length; i++) {
+                double xOffset = this.offsets[i * 3], yOffset = this.offsets[i * 3 + 1], zOffset = this.offsets[i * 3 + 2];
+
+                // Security.
+                if (!Double.isFinite(xOffset) || !Double.isFinite(yOffset) || !Double.isFinite(zOffset)) {
+                    ISawedThisPlayerInHalf.LOGGER.log(Level.WARN,
+                            I18n.format("network.error.set_offsets.invalid_offsets", this.playerIDs[i]));
+                    continue;
+                }
+
+                Entity possiblePlayer = minecraftInstance.world.getEntityByID(this.playerIDs[i]);
+
+                // The client's own offsets are only ever changed by the response to their own request.
+                if (possiblePlayer instanceof PlayerEntity) {
+                    if (!possiblePlayer.equals(minecraftInstance.player))
+                        Offsetter.setOffsets((PlayerEntity) possiblePlayer, new Vec3d(xOffset, yOffset, zOffset), this.transitionTicks[i]);
+
+                // Holds onto the offsets until the player is loaded.
+                } else if (possiblePlayer == null)
+                    PendingOffsetsBuffer.buffer(this.playerIDs[i], new Vec3d(xOffset, yOffset, zOffset));
+            }
+        }));
+
+        context.setPacketHandled(true);
+    }
+}
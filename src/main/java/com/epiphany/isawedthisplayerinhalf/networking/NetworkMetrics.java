@@ -0,0 +1,254 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import com.epiphany.isawedthisplayerinhalf.ISawedThisPlayerInHalf;
+import com.epiphany.isawedthisplayerinhalf.helpers.OffsetWorldAccess;
+import com.epiphany.isawedthisplayerinhalf.helpers.SightCache;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Counts the traffic on the mod's channel for each type of packet: how many are sent and received, how many bytes they
+ *   take up, how long their work waits before the main thread gets to it, and how much of it is waiting right now.
+ * Byte counts only include the packets' own data, not the few bytes the channel adds to each one.
+ * Reported periodically in the log, and on demand with an admin command.
+ */
+public class NetworkMetrics {
+    // How often, in ticks, to log the metrics.
+    private static final int REPORT_INTERVAL = 6000;
+
+    // Filled in while registering packets, and only read afterwards.
+    private static final Map<Class<?>, PacketMetrics> packetMetrics = new LinkedHashMap<>();
+    private static int ticksSinceReport = 0;
+
+    /**
+     * Creates the metrics for a type of packet.
+     * Only to be called while registering packets.
+     *
+     * @param packetClass The class of the packet.
+     *
+     * @return The metrics of the packet.
+     */
+    static PacketMetrics register(Class<? extends IPacket> packetClass) {
+        PacketMetrics metrics = new PacketMetrics(packetClass.getSimpleName());
+        packetMetrics.put(packetClass, metrics);
+
+        return metrics;
+    }
+
+    /**
+     * Queues work from a packet to be run on the main thread, keeping track of how long it waits and how much is waiting.
+     * Used in place of {@link NetworkEvent.Context#enqueueWork(Runnable)}.
+     *
+     * @param context The context of the packet.
+     * @param packet The packet the work is from.
+     * @param work The work to run.
+     */
+    static void enqueueWork(NetworkEvent.Context context, IPacket packet, Runnable work) {
+        PacketMetrics metrics = packetMetrics.get(packet.getClass());
+        long queuedTime = System.nanoTime();
+
+        metrics.queuedWork.incrementAndGet();
+        context.enqueueWork(() -> {
+            metrics.queuedWork.decrementAndGet();
+            metrics.countHandled(System.nanoTime() - queuedTime);
+
+            work.run();
+        });
+    }
+
+    /**
+     * Returns the metrics of every type of packet, in the order the packets were registered.
+     *
+     * @return The metrics of every type of packet.
+     */
+    public static Collection<PacketMetrics> getPacketMetrics() {
+        return Collections.unmodifiableCollection(packetMetrics.values());
+    }
+
+
+
+    /**
+     * Logs the metrics every so often, if there has been any traffic, along with how often offset positions landed in
+     *   unloaded chunks and how well the line-of-sight cache is doing.
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent serverTickEvent) {
+        if (serverTickEvent.phase != TickEvent.Phase.END || ++ticksSinceReport < REPORT_INTERVAL)
+            return;
+
+        ticksSinceReport = 0;
+
+        for (PacketMetrics metrics : packetMetrics.values())
+            if (metrics.getSentPackets() + metrics.getReceivedPackets() > 0)
+                ISawedThisPlayerInHalf.LOGGER.info("{}: sent {} ({} bytes), received {} ({} bytes), main thread wait {} ms average, {} ms max, {} queued",
+                        metrics.getName(), metrics.getSentPackets(), metrics.getSentBytes(), metrics.getReceivedPackets(), metrics.getReceivedBytes(),
+                        String.format("%.3f", metrics.getAverageWaitMillis()), String.format("%.3f", metrics.getMaximumWaitMillis()), metrics.getQueuedWork());
+
+        long refusedSightChecks = OffsetWorldAccess.getRefusedSightChecks();
+        long refusedRaytraces = OffsetWorldAccess.getRefusedRaytraces();
+        long refusedReachChecks = OffsetWorldAccess.getRefusedReachChecks();
+
+        if (refusedSightChecks + refusedRaytraces + refusedReachChecks > 0)
+            ISawedThisPlayerInHalf.LOGGER.info("Refused because of unloaded chunks: {} line-of-sight checks, {} raytraces, {} reach checks",
+                    refusedSightChecks, refusedRaytraces, refusedReachChecks);
+
+        if (SightCache.getHits() + SightCache.getMisses() > 0)
+            ISawedThisPlayerInHalf.LOGGER.info("Offset line-of-sight cache: {} hits, {} misses", SightCache.getHits(), SightCache.getMisses());
+    }
+
+
+
+    /**
+     * The metrics of a single type of packet.
+     * Counted from the network threads and the main threads at once, so everything is atomic.
+     */
+    public static class PacketMetrics {
+        private final String name;
+
+        private final AtomicLong sentPackets = new AtomicLong();
+        private final AtomicLong sentBytes = new AtomicLong();
+        private final AtomicLong receivedPackets = new AtomicLong();
+        private final AtomicLong receivedBytes = new AtomicLong();
+
+        // Wait times of work on the main thread, in nanoseconds.
+        private final AtomicLong handledWork = new AtomicLong();
+        private final AtomicLong totalWaitTime = new AtomicLong();
+        private final AtomicLong maximumWaitTime = new AtomicLong();
+        private final AtomicInteger queuedWork = new AtomicInteger();
+
+        private PacketMetrics(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Counts a sent packet.
+         *
+         * @param bytes The size of the packet's data.
+         */
+        void countSent(int bytes) {
+            this.sentPackets.incrementAndGet();
+            this.sentBytes.addAndGet(bytes);
+        }
+
+        /**
+         * Counts a received packet.
+         *
+         * @param bytes The size of the packet's data.
+         */
+        void countReceived(int bytes) {
+            this.receivedPackets.incrementAndGet();
+            this.receivedBytes.addAndGet(bytes);
+        }
+
+        private void countHandled(long waitTime) {
+            this.handledWork.incrementAndGet();
+            this.totalWaitTime.addAndGet(waitTime);
+            this.maximumWaitTime.accumulateAndGet(waitTime, Math::max);
+        }
+
+        /**
+         * Returns the name of the type of packet.
+         *
+         * @return The name of the packet.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Returns how many of these packets have been sent.
+         *
+         * @return The number of packets sent.
+         */
+        public long getSentPackets() {
+            return this.sentPackets.get();
+        }
+
+        /**
+         * Returns how many bytes of these packets have been sent.
+         *
+         * @return The number of bytes sent.
+         */
+        public long getSentBytes() {
+            return this.sentBytes.get();
+        }
+
+        /**
+         * Returns how many of these packets have been received.
+         *
+         * @return The number of packets received.
+         */
+        public long getReceivedPackets() {
+            return this.receivedPackets.get();
+        }
+
+        /**
+         * Returns how many bytes of these packets have been received.
+         *
+         * @return The number of bytes received.
+         */
+        public long getReceivedBytes() {
+            return this.receivedBytes.get();
+        }
+
+        /**
+         * Returns how long, on average, the work from these packets has waited for the main thread.
+         *
+         * @return The average wait, in milliseconds.
+         */
+        public double getAverageWaitMillis() {
+            long handledWork = this.handledWork.get();
+            return handledWork > 0 ? this.totalWaitTime.get() / (double) handledWork / 1_000_000.0 : 0.0;
+        }
+
+        /**
+         * Returns the longest the work from these packets has waited for the main thread.
+         *
+         * @return The longest wait, in milliseconds.
+         */
+        public double getMaximumWaitMillis() {
+            return this.maximumWaitTime.get() / 1_000_000.0;
+        }
+
+        /**
+         * Returns how much work from these packets is waiting for the main thread right now.
+         *
+         * @return The amount of queued work.
+         */
+        public int getQueuedWork() {
+            return this.queuedWork.get();
+        }
+    }
+}
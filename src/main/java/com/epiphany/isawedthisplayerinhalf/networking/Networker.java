@@ -2,6 +2,7 @@ package com.epiphany.isawedthisplayerinhalf.networking;
 
 import com.epiphany.isawedthisplayerinhalf.ISawedThisPlayerInHalf;
 import net.minecraft.client.Minecraft;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.api.distmarker.Dist;
@@ -11,6 +12,7 @@ import net.minecraftforge.fml.network.simple.SimpleChannel;
 
 import javax.annotation.Nullable;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /*
  * MIT License
@@ -40,6 +42,9 @@ import java.util.function.Consumer;
  * Stuff for networking.
  */
 public class Networker {
+    // Bump whenever the format of any packet changes.
+    private static final String PROTOCOL_VERSION = "5";
+
     static SimpleChannel modChannel;
     private static int freeChannelIndex = 0;
 
@@ -47,11 +52,51 @@ public class Networker {
      * Registers packets to the mod's channel.
      */
     public static void registerPackets() {
-        modChannel = NetworkRegistry.newSimpleChannel(new ResourceLocation(ISawedThisPlayerInHalf.MOD_ID, "offsets_transfer"), () -> "1.0", s -> true, s -> true);
+        modChannel = NetworkRegistry.newSimpleChannel(new ResourceLocation(ISawedThisPlayerInHalf.MOD_ID, "offsets_transfer"), () -> PROTOCOL_VERSION,
+                Networker::isCompatibleVersion, Networker::isCompatibleVersion);
+
+        registerPacket(SetOffsetsPacket.class, SetOffsetsPacket::new);
+        registerPacket(RequestOffsetsPacket.class, RequestOffsetsPacket::new);
+        registerPacket(RequestDisplayOffsetsPacket.class, RequestDisplayOffsetsPacket::new);
+        registerPacket(BulkSetOffsetsPacket.class, BulkSetOffsetsPacket::new);
+        registerPacket(NoOffsetsPacket.class, NoOffsetsPacket::new);
+    }
+
+    /**
+     * Registers a packet to the mod's channel, counting the packets and bytes that go through it in
+     *   {@link NetworkMetrics}.
+     *
+     * @param packetClass The class of the packet.
+     * @param decoder The function that recreates the packet from a packet buffer.
+     */
+    private static <PACKET extends IPacket> void registerPacket(Class<PACKET> packetClass, Function<PacketBuffer, PACKET> decoder) {
+        NetworkMetrics.PacketMetrics metrics = NetworkMetrics.register(packetClass);
 
-        modChannel.registerMessage(getNextIndex(), SetOffsetsPacket.class, SetOffsetsPacket::toBytes, SetOffsetsPacket::new, SetOffsetsPacket::handle);
-        modChannel.registerMessage(getNextIndex(), RequestOffsetsPacket.class, RequestOffsetsPacket::toBytes, RequestOffsetsPacket::new, RequestOffsetsPacket::handle);
-        modChannel.registerMessage(getNextIndex(), RequestDisplayOffsetsPacket.class, RequestDisplayOffsetsPacket::toBytes, RequestDisplayOffsetsPacket::new, RequestDisplayOffsetsPacket::handle);
+        modChannel.registerMessage(getNextIndex(), packetClass,
+                (packet, packetBuffer) -> {
+                    int startIndex = packetBuffer.writerIndex();
+                    packet.toBytes(packetBuffer);
+                    metrics.countSent(packetBuffer.writerIndex() - startIndex);
+                },
+                packetBuffer -> {
+                    metrics.countReceived(packetBuffer.readableBytes());
+                    return decoder.apply(packetBuffer);
+                },
+                IPacket::handle);
+    }
+
+    /**
+     * Checks whether the other side of a connection can talk to this one.
+     * Sides without the mod are let through, since the mod works fine without it on the other side, but sides running
+     *   a different version of the protocol are refused during the handshake, rather than failing to read each other's
+     *   packets later.
+     *
+     * @param remoteVersion The version of the protocol the other side is using.
+     *
+     * @return Whether the other side is compatible.
+     */
+    private static boolean isCompatibleVersion(String remoteVersion) {
+        return PROTOCOL_VERSION.equals(remoteVersion) || NetworkRegistry.ABSENT.equals(remoteVersion) || NetworkRegistry.ACCEPTVANILLA.equals(remoteVersion);
     }
 
     /**
@@ -67,19 +112,22 @@ public class Networker {
 
     /**
      * Sends the server the offsets to set to the player.
+     * Several of these can be waiting on a response at once, and each is matched up with its own response.
      *
      * @param offsets The offsets to set to the player.
+     * @param onRespond The function to call once the server responds; true if the offsets were set, false if not, or
+     *   if the server took too long to respond.
      */
     @OnlyIn(Dist.CLIENT)
     public static void sendServerOffsets(Vec3d offsets, @Nullable Consumer<Boolean> onRespond) {
-        SetOffsetsPacket.setExpectedOffsets(offsets);
-        SetOffsetsPacket.setResponseListener(onRespond);
-        modChannel.sendToServer(new SetOffsetsPacket(Minecraft.getInstance().player, offsets.x, offsets.y, offsets.z));
+        int requestId = PendingOffsetChanges.register(offsets, onRespond);
+        modChannel.sendToServer(new SetOffsetsPacket(requestId, Minecraft.getInstance().player, offsets.x, offsets.y, offsets.z));
     }
 
     /**
      * Sends a request to the server for the given player's offsets.
-     * If that player exists on the server and has offsets then the server will send a SetOffsets
+     * If that player exists on the server and has offsets then the server will send a SetOffsetsPacket, and if they have
+     *   none, a NoOffsetsPacket.
      *
      * @param playerEntityId The entity id of the requested player.
      */
@@ -0,0 +1,86 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Tells a client that a player they asked about with a {@link RequestOffsetsPacket} has no offsets, so that they know
+ *   not to ask again.
+ */
+public class NoOffsetsPacket implements IPacket {
+    private final int playerID;
+
+    /**
+     * Creates a new NoOffsetsPacket.
+     *
+     * @param playerEntityId The entity id of the player without offsets.
+     */
+    NoOffsetsPacket(int playerEntityId) {
+        this.playerID = playerEntityId;
+    }
+
+    /**
+     * Recreates a NoOffsetsPacket from the information sent from the other side.
+     *
+     * @param packetBuffer The buffer of the sent packet.
+     */
+    public NoOffsetsPacket(PacketBuffer packetBuffer) {
+        this.playerID = packetBuffer.readVarInt();
+    }
+
+    @Override
+    public void toBytes(PacketBuffer packetBuffer) {
+        packetBuffer.writeVarInt(this.playerID);
+    }
+
+
+
+    @Override
+    public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+        NetworkEvent.Context context = contextSupplier.get();
+
+        DistExecutor.runWhenOn(Dist.CLIENT, () -> () -> NetworkMetrics.enqueueWork(context, this, () -> {
+            Minecraft minecraftInstance = Minecraft.getInstance();
+            if (minecraftInstance.world == null)
+                return;
+
+            Entity possiblePlayer = minecraftInstance.world.getEntityByID(this.playerID);
+
+            if (possiblePlayer instanceof PlayerEntity)
+                OffsetRequestScheduler.rememberNoOffsets((PlayerEntity) possiblePlayer);
+        }));
+
+        context.setPacketHandled(true);
+    }
+}
@@ -0,0 +1,126 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Asks the server for the offsets of loaded players that the server has not sent on its own.
+ * The server sends the offsets of players as clients start tracking them, so requests are only a fallback, made if
+ *   nothing has arrived a little while after the player was loaded.
+ * Players the server has said have no offsets are remembered, and not asked about again until offsets arrive for them.
+ */
+@OnlyIn(Dist.CLIENT)
+public class OffsetRequestScheduler {
+    // How long to wait, in ticks, for the server to send a player's offsets before asking for them.
+    private static final int REQUEST_DELAY = 40;
+
+    private static final Int2LongOpenHashMap requestDeadlines = new Int2LongOpenHashMap();
+    private static long ticks = 0;
+
+    // Kept by UUID, since players get new entity ids when they respawn or change dimension.
+    private static final Set<UUID> playersWithoutOffsets = new HashSet<>();
+
+    /**
+     * Schedules a request for the offsets of a player, to be sent if they have not arrived in time.
+     * Does nothing if the server has already said that the player has no offsets.
+     *
+     * @param playerEntity The player.
+     */
+    public static void scheduleRequest(PlayerEntity playerEntity) {
+        if (!playersWithoutOffsets.contains(playerEntity.getUniqueID()))
+            requestDeadlines.put(playerEntity.getEntityId(), ticks + REQUEST_DELAY);
+    }
+
+    /**
+     * Remembers that the server said a player has no offsets.
+     *
+     * @param playerEntity The player without offsets.
+     */
+    static void rememberNoOffsets(PlayerEntity playerEntity) {
+        playersWithoutOffsets.add(playerEntity.getUniqueID());
+    }
+
+    /**
+     * Forgets that a player has no offsets, since some have arrived for them.
+     *
+     * @param playerUUID The UUID of the player.
+     */
+    public static void forgetNoOffsets(UUID playerUUID) {
+        playersWithoutOffsets.remove(playerUUID);
+    }
+
+
+
+    /**
+     * Sends the scheduled requests whose offsets never arrived.
+     */
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent clientTickEvent) {
+        if (clientTickEvent.phase != TickEvent.Phase.END)
+            return;
+
+        ticks++;
+
+        if (requestDeadlines.isEmpty() && playersWithoutOffsets.isEmpty())
+            return;
+
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.world == null) {
+            requestDeadlines.clear();
+            playersWithoutOffsets.clear();
+            return;
+        }
+
+
+        Iterator<Int2LongMap.Entry> iterator = requestDeadlines.int2LongEntrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Int2LongMap.Entry deadline = iterator.next();
+            if (deadline.getLongValue() > ticks)
+                continue;
+
+            iterator.remove();
+
+            Entity possiblePlayer = minecraft.world.getEntityByID(deadline.getIntKey());
+            if (possiblePlayer instanceof PlayerEntity && Offsetter.getOffsetsOrNull((PlayerEntity) possiblePlayer) == null)
+                Networker.requestOffsets(deadline.getIntKey());
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.network.PacketDistributor;
+
+import java.util.*;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Collects the offset changes made during a server tick and sends them out together at the end of it, only to the
+ *   players that are tracking the players whose offsets changed.
+ * Only the latest offsets of each player are sent, so a burst of changes costs at most one packet per recipient per
+ *   tick, rather than one per change per recipient.
+ * Players that start tracking someone are sent that someone's offsets the same way, and players that join or change
+ *   dimension are sent the offsets of everyone they are tracking in one go.
+ * Only used on dedicated servers, from the server thread.
+ */
+public class OffsetsBroadcaster {
+    // Keeps packets well below the size limit of a custom payload.
+    private static final int MAXIMUM_ENTRIES_PER_PACKET = 1024;
+
+    // The players tracking each player, by the entity id of the tracked player.
+    private static final Int2ObjectOpenHashMap<Set<ServerPlayerEntity>> trackingPlayers = new Int2ObjectOpenHashMap<>();
+
+    // Players whose offsets changed this tick, and how long clients should take to render the changes.
+    private static final Int2ObjectOpenHashMap<PlayerEntity> changedPlayers = new Int2ObjectOpenHashMap<>();
+    private static final Int2IntOpenHashMap changedTransitions = new Int2IntOpenHashMap();
+    // Players that need to be sent the offsets of players they started tracking this tick.
+    private static final Map<ServerPlayerEntity, Set<PlayerEntity>> newlyTrackedPlayers = new HashMap<>();
+    // Players that need to be sent the offsets of everyone they are tracking.
+    private static final Set<ServerPlayerEntity> pendingSnapshots = new HashSet<>();
+
+    static {
+        changedTransitions.defaultReturnValue(Offsetter.DEFAULT_TRANSITION);
+    }
+
+    /**
+     * Queues the offsets of a player to be sent to the players tracking them at the end of the tick.
+     * Only to be called from the server thread.
+     *
+     * @param playerEntity The player whose offsets changed.
+     */
+    public static void queueOffsets(PlayerEntity playerEntity) {
+        queueOffsets(playerEntity, Offsetter.DEFAULT_TRANSITION);
+    }
+
+    /**
+     * Queues the offsets of a player to be sent to the players tracking them at the end of the tick, with their clients
+     *   taking the given number of ticks to slide the player's rendering over to the new offsets.
+     * Lets smooth movement be sent as one change, rather than as a change every tick.
+     * Only to be called from the server thread.
+     *
+     * @param playerEntity The player whose offsets changed.
+     * @param transitionTicks How many ticks clients should take to render the change, or
+     *   {@link Offsetter#DEFAULT_TRANSITION} to leave it up to them.
+     */
+    public static void queueOffsets(PlayerEntity playerEntity, int transitionTicks) {
+        changedPlayers.put(playerEntity.getEntityId(), playerEntity);
+
+        if (transitionTicks != Offsetter.DEFAULT_TRANSITION)
+            changedTransitions.put(playerEntity.getEntityId(), transitionTicks);
+        else
+            changedTransitions.remove(playerEntity.getEntityId());
+    }
+
+    /**
+     * Queues the offsets of every player a player is tracking to be sent to them at the end of the tick.
+     * Only to be called from the server thread.
+     *
+     * @param playerEntity The player to send the offsets to.
+     */
+    public static void queueSnapshot(ServerPlayerEntity playerEntity) {
+        pendingSnapshots.add(playerEntity);
+    }
+
+
+
+    /**
+     * Keeps track of which players are tracking which, and queues the offsets of newly tracked players to be sent.
+     */
+    @SubscribeEvent
+    public static void onStartTracking(PlayerEvent.StartTracking startTrackingEvent) {
+        Entity target = startTrackingEvent.getTarget();
+        PlayerEntity player = startTrackingEvent.getPlayer();
+
+        if (!(target instanceof PlayerEntity) || !(player instanceof ServerPlayerEntity))
+            return;
+
+        Set<ServerPlayerEntity> watchers = trackingPlayers.get(target.getEntityId());
+        if (watchers == null) {
+            watchers = new HashSet<>();
+            trackingPlayers.put(target.getEntityId(), watchers);
+        }
+
+        watchers.add((ServerPlayerEntity) player);
+        newlyTrackedPlayers.computeIfAbsent((ServerPlayerEntity) player, ignored -> new HashSet<>()).add((PlayerEntity) target);
+    }
+
+    /**
+     * Keeps track of which players are tracking which.
+     */
+    @SubscribeEvent
+    public static void onStopTracking(PlayerEvent.StopTracking stopTrackingEvent) {
+        Entity target = stopTrackingEvent.getTarget();
+        PlayerEntity player = stopTrackingEvent.getPlayer();
+
+        if (!(target instanceof PlayerEntity))
+            return;
+
+        Set<ServerPlayerEntity> watchers = trackingPlayers.get(target.getEntityId());
+        if (watchers != null) {
+            watchers.remove(player);
+
+            if (watchers.isEmpty())
+                trackingPlayers.remove(target.getEntityId());
+        }
+
+        Set<PlayerEntity> newlyTracked = newlyTrackedPlayers.get(player);
+        if (newlyTracked != null)
+            newlyTracked.remove(target);
+    }
+
+    /**
+     * Sends players the offsets of everyone around them after they change dimension.
+     */
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent playerChangedDimensionEvent) {
+        PlayerEntity player = playerChangedDimensionEvent.getPlayer();
+
+        if (player instanceof ServerPlayerEntity)
+            queueSnapshot((ServerPlayerEntity) player);
+    }
+
+    /**
+     * Forgets about players when they leave.
+     * Stopping tracking should already have taken care of this, but leftovers would pin the player in memory.
+     */
+    @SubscribeEvent
+    public static void onPlayerLeaveServer(PlayerEvent.PlayerLoggedOutEvent playerLoggedOutEvent) {
+        PlayerEntity player = playerLoggedOutEvent.getPlayer();
+
+        trackingPlayers.remove(player.getEntityId());
+        trackingPlayers.values().forEach(watchers -> watchers.remove(player));
+        changedPlayers.remove(player.getEntityId());
+        changedTransitions.remove(player.getEntityId());
+        newlyTrackedPlayers.remove(player);
+        pendingSnapshots.remove(player);
+    }
+
+    /**
+     * Sends out the offset changes queued during the tick.
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent serverTickEvent) {
+        if (serverTickEvent.phase != TickEvent.Phase.END || (changedPlayers.isEmpty() && newlyTrackedPlayers.isEmpty() && pendingSnapshots.isEmpty()))
+            return;
+
+        // Groups the changes by who they are going to, along with how long each should take to render. Players that were
+        //   just loaded by a recipient jump straight to their offsets.
+        Map<ServerPlayerEntity, Object2IntOpenHashMap<PlayerEntity>> outgoingOffsets = new HashMap<>();
+
+        for (Map.Entry<ServerPlayerEntity, Set<PlayerEntity>> newlyTracked : newlyTrackedPlayers.entrySet()) {
+            Object2IntOpenHashMap<PlayerEntity> outgoing = getOutgoing(outgoingOffsets, newlyTracked.getKey());
+
+            for (PlayerEntity player : newlyTracked.getValue())
+                outgoing.put(player, 0);
+        }
+
+        for (ServerPlayerEntity recipient : pendingSnapshots) {
+            Object2IntOpenHashMap<PlayerEntity> snapshot = getOutgoing(outgoingOffsets, recipient);
+
+            for (PlayerEntity otherPlayer : recipient.getServerWorld().getPlayers()) {
+                Set<ServerPlayerEntity> watchers = trackingPlayers.get(otherPlayer.getEntityId());
+
+                if (watchers != null && watchers.contains(recipient))
+                    snapshot.put(otherPlayer, 0);
+            }
+        }
+
+        for (PlayerEntity changedPlayer : changedPlayers.values()) {
+            Set<ServerPlayerEntity> watchers = trackingPlayers.get(changedPlayer.getEntityId());
+            int transitionTicks = changedTransitions.get(changedPlayer.getEntityId());
+
+            if (watchers != null)
+                for (ServerPlayerEntity watcher : watchers) {
+                    Object2IntOpenHashMap<PlayerEntity> outgoing = getOutgoing(outgoingOffsets, watcher);
+
+                    if (!outgoing.containsKey(changedPlayer))
+                        outgoing.put(changedPlayer, transitionTicks);
+                }
+        }
+
+        changedPlayers.clear();
+        changedTransitions.clear();
+        newlyTrackedPlayers.clear();
+        pendingSnapshots.clear();
+
+
+        for (Map.Entry<ServerPlayerEntity, Object2IntOpenHashMap<PlayerEntity>> outgoing : outgoingOffsets.entrySet()) {
+            ServerPlayerEntity recipient = outgoing.getKey();
+
+            // Only players with the mod have offsets.
+            if (Offsetter.getOffsetsOrNull(recipient) != null)
+                sendOffsets(recipient, outgoing.getValue());
+        }
+    }
+
+    private static Object2IntOpenHashMap<PlayerEntity> getOutgoing(Map<ServerPlayerEntity, Object2IntOpenHashMap<PlayerEntity>> outgoingOffsets,
+                                                                   ServerPlayerEntity recipient) {
+        return outgoingOffsets.computeIfAbsent(recipient, ignored -> new Object2IntOpenHashMap<>());
+    }
+
+    /**
+     * Sends the offsets of some players to a player, splitting them across as few packets as possible.
+     *
+     * @param recipient The player to send the offsets to.
+     * @param players The players whose offsets to send, along with how long the recipient should take to render them.
+     */
+    private static void sendOffsets(ServerPlayerEntity recipient, Object2IntOpenHashMap<PlayerEntity> players) {
+        int[] playerIDs = new int[Math.min(players.size(), MAXIMUM_ENTRIES_PER_PACKET)];
+        double[] offsets = new double[playerIDs.length * 3];
+        int[] transitionTicks = new int[playerIDs.length];
+        int index = 0;
+
+        for (Object2IntMap.Entry<PlayerEntity> entry : players.object2IntEntrySet()) {
+            PlayerEntity player = entry.getKey();
+            Vec3d playerOffsets = Offsetter.getOffsetsOrNull(player);
+            if (playerOffsets == null)
+                continue;
+
+            playerIDs[index] = player.getEntityId();
+            offsets[index * 3] = playerOffsets.x;
+            offsets[index * 3 + 1] = playerOffsets.y;
+            offsets[index * 3 + 2] = playerOffsets.z;
+            transitionTicks[index] = entry.getIntValue();
+
+            if (++index == playerIDs.length) {
+                Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> recipient), new BulkSetOffsetsPacket(playerIDs, offsets, transitionTicks));
+
+                playerIDs = new int[playerIDs.length];
+                offsets = new double[offsets.length];
+                transitionTicks = new int[transitionTicks.length];
+                index = 0;
+            }
+        }
+
+        if (index > 0)
+            Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> recipient), new BulkSetOffsetsPacket(
+                    Arrays.copyOf(playerIDs, index), Arrays.copyOf(offsets, index * 3), Arrays.copyOf(transitionTicks, index)));
+    }
+}
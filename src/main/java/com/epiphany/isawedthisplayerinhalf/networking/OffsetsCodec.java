@@ -0,0 +1,133 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import net.minecraft.network.PacketBuffer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Reads and writes the offsets of a player in a compact form.
+ * Each entry is a VarInt entity id, followed by a flags byte, followed by each axis that is not zero. Axes that a float
+ *   can hold exactly are written as floats, and the rest as doubles, so the offsets always come out exactly as they
+ *   went in.
+ * Entries can end with a VarInt transition length, which is left out when the client should use its own.
+ * The offsets (0, 1.5, 0) of a player with an entity id below 128 take up 6 bytes, where the old format always used 28.
+ */
+class OffsetsCodec {
+    // Flags marking axes that are zero, and so not written.
+    private static final int X_ZERO = 1;
+    private static final int Y_ZERO = 1 << 1;
+    private static final int Z_ZERO = 1 << 2;
+    // Flags marking axes that are written as floats rather than doubles.
+    private static final int X_FLOAT = 1 << 3;
+    private static final int Y_FLOAT = 1 << 4;
+    private static final int Z_FLOAT = 1 << 5;
+    // Flag marking entries that end with a transition length.
+    private static final int TRANSITION = 1 << 6;
+
+    /**
+     * The fewest bytes an entry can take up, used to catch packets claiming to hold more entries than they could.
+     */
+    static final int MINIMUM_ENTRY_SIZE = 2;
+
+    /**
+     * Writes an entity id and its offsets to a packet buffer.
+     *
+     * @param packetBuffer The packet buffer to write to.
+     * @param entityId The entity id of the player.
+     * @param xOffset The x-offset of the player.
+     * @param yOffset The y-offset of the player.
+     * @param zOffset The z-offset of the player.
+     * @param transitionTicks How many ticks the client should take to render the change, or
+     *   {@link Offsetter#DEFAULT_TRANSITION} to leave it up to the client.
+     */
+    static void write(PacketBuffer packetBuffer, int entityId, double xOffset, double yOffset, double zOffset, int transitionTicks) {
+        int flags = getAxisFlags(xOffset, X_ZERO, X_FLOAT) | getAxisFlags(yOffset, Y_ZERO, Y_FLOAT) | getAxisFlags(zOffset, Z_ZERO, Z_FLOAT);
+        if (transitionTicks >= 0)
+            flags |= TRANSITION;
+
+        packetBuffer.writeVarInt(entityId);
+        packetBuffer.writeByte(flags);
+        writeAxis(packetBuffer, xOffset, flags, X_ZERO, X_FLOAT);
+        writeAxis(packetBuffer, yOffset, flags, Y_ZERO, Y_FLOAT);
+        writeAxis(packetBuffer, zOffset, flags, Z_ZERO, Z_FLOAT);
+
+        if ((flags & TRANSITION) != 0)
+            packetBuffer.writeVarInt(transitionTicks);
+    }
+
+    /**
+     * Reads an entity id and its offsets from a packet buffer.
+     *
+     * @param packetBuffer The packet buffer to read from.
+     * @param entityIds The array to store the entity id in.
+     * @param offsets The array to store the offsets in, with the x, y, and z offsets one after another.
+     * @param transitionTicks The array to store the transition length in, which is
+     *   {@link Offsetter#DEFAULT_TRANSITION} if there is none.
+     * @param index The index of the entry in the arrays.
+     */
+    static void read(PacketBuffer packetBuffer, int[] entityIds, double[] offsets, int[] transitionTicks, int index) {
+        entityIds[index] = packetBuffer.readVarInt();
+        int flags = packetBuffer.readUnsignedByte();
+
+        offsets[index * 3] = readAxis(packetBuffer, flags, X_ZERO, X_FLOAT);
+        offsets[index * 3 + 1] = readAxis(packetBuffer, flags, Y_ZERO, Y_FLOAT);
+        offsets[index * 3 + 2] = readAxis(packetBuffer, flags, Z_ZERO, Z_FLOAT);
+
+        if ((flags & TRANSITION) != 0) {
+            // Security.
+            transitionTicks[index] = Math.max(packetBuffer.readVarInt(), 0);
+
+        } else
+            transitionTicks[index] = Offsetter.DEFAULT_TRANSITION;
+    }
+
+
+
+    private static int getAxisFlags(double value, int zeroFlag, int floatFlag) {
+        // -0.0 is written as a float so that its sign survives.
+        if (Double.doubleToRawLongBits(value) == 0L)
+            return zeroFlag;
+
+        return (double) (float) value == value || Double.isNaN(value) ? floatFlag : 0;
+    }
+
+    private static void writeAxis(PacketBuffer packetBuffer, double value, int flags, int zeroFlag, int floatFlag) {
+        if ((flags & zeroFlag) != 0)
+            return;
+
+        if ((flags & floatFlag) != 0)
+            packetBuffer.writeFloat((float) value);
+        else
+            packetBuffer.writeDouble(value);
+    }
+
+    private static double readAxis(PacketBuffer packetBuffer, int flags, int zeroFlag, int floatFlag) {
+        if ((flags & zeroFlag) != 0)
+            return 0.0;
+
+        return (flags & floatFlag) != 0 ? packetBuffer.readFloat() : packetBuffer.readDouble();
+    }
+}
@@ -0,0 +1,247 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import com.epiphany.isawedthisplayerinhalf.config.ServerConfig;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.util.Util;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Does the cheap checks on packets sent to the server while still on the network thread, so that packets that fail them
+ *   never take up a task on the server thread.
+ * Each connection gets a token bucket per type of packet, with the sustained rate and burst size set in the server
+ *   config. Packets that arrive with the bucket empty are dropped.
+ * Keeps count of the packets rejected from each connection.
+ */
+public class PacketValidator {
+    // Weak so that closed connections are forgotten without any cleanup.
+    private static final Map<NetworkManager, ConnectionStats> connectionStats = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Counts of how many packets were rejected across all connections.
+    private static final AtomicLong rejectedInvalidPackets = new AtomicLong();
+    private static final AtomicLong rejectedRateLimitedPackets = new AtomicLong();
+
+    /**
+     * Checks whether the connection a packet came from has any tokens left for that type of packet, taking one if so.
+     *
+     * @param context The context of the packet.
+     * @param packetType The type of the packet.
+     *
+     * @return Whether the packet should be handled.
+     */
+    static boolean checkRate(NetworkEvent.Context context, PacketType packetType) {
+        ConnectionStats stats = getStats(context.getNetworkManager());
+        long currentTime = Util.milliTime();
+
+        synchronized (stats) {
+            if (stats.buckets[packetType.ordinal()].tryTake(currentTime, packetType.getRate(), packetType.getBurst()))
+                return true;
+
+            stats.rateLimitedPackets[packetType.ordinal()]++;
+        }
+
+        rejectedRateLimitedPackets.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Checks whether a connection should be told that a packet of a type was refused for going over the rate limit.
+     * Only the first refusal since the connection last had a token is answered, so that flooding the server does not
+     *   turn into one reply per packet.
+     *
+     * @param context The context of the refused packet.
+     * @param packetType The type of the refused packet.
+     *
+     * @return Whether the refusal should be answered.
+     */
+    static boolean shouldAnswerRefusal(NetworkEvent.Context context, PacketType packetType) {
+        ConnectionStats stats = getStats(context.getNetworkManager());
+
+        synchronized (stats) {
+            TokenBucket bucket = stats.buckets[packetType.ordinal()];
+            if (bucket.refusalAnswered)
+                return false;
+
+            bucket.refusalAnswered = true;
+            return true;
+        }
+    }
+
+    /**
+     * Counts a packet that was rejected for holding invalid data.
+     *
+     * @param context The context of the packet.
+     *
+     * @return The number of invalid packets the connection has now sent.
+     */
+    static int countInvalid(NetworkEvent.Context context) {
+        ConnectionStats stats = getStats(context.getNetworkManager());
+        rejectedInvalidPackets.incrementAndGet();
+
+        synchronized (stats) {
+            return ++stats.invalidPackets;
+        }
+    }
+
+    private static ConnectionStats getStats(NetworkManager networkManager) {
+        return connectionStats.computeIfAbsent(networkManager, ignored -> new ConnectionStats());
+    }
+
+
+
+    /**
+     * Returns how many packets of a type from a connection were dropped for going over the rate limit.
+     *
+     * @param networkManager The connection.
+     * @param packetType The type of packet.
+     *
+     * @return The number of rate-limited packets, or 0 if the connection has not sent any packets.
+     */
+    public static int getRateLimitedPackets(NetworkManager networkManager, PacketType packetType) {
+        ConnectionStats stats = connectionStats.get(networkManager);
+        if (stats == null)
+            return 0;
+
+        synchronized (stats) {
+            return stats.rateLimitedPackets[packetType.ordinal()];
+        }
+    }
+
+    /**
+     * Returns how many packets from a connection were rejected for holding invalid data.
+     *
+     * @param networkManager The connection.
+     *
+     * @return The number of invalid packets, or 0 if the connection has not sent any packets.
+     */
+    public static int getInvalidPackets(NetworkManager networkManager) {
+        ConnectionStats stats = connectionStats.get(networkManager);
+        if (stats == null)
+            return 0;
+
+        synchronized (stats) {
+            return stats.invalidPackets;
+        }
+    }
+
+    /**
+     * Returns how many packets have been rejected for holding invalid data, across all connections.
+     *
+     * @return The number of invalid packets.
+     */
+    public static long getRejectedInvalidPackets() {
+        return rejectedInvalidPackets.get();
+    }
+
+    /**
+     * Returns how many packets have been rejected for going over the rate limit, across all connections.
+     *
+     * @return The number of rate-limited packets.
+     */
+    public static long getRejectedRateLimitedPackets() {
+        return rejectedRateLimitedPackets.get();
+    }
+
+
+
+    /**
+     * The types of packet sent to the server, each with their own rate limit.
+     */
+    public enum PacketType {
+        SET_OFFSETS,
+        REQUEST_OFFSETS,
+        REQUEST_DISPLAY_OFFSETS;
+
+        /**
+         * @return The number of packets of this type a connection may send per second, sustained.
+         */
+        private double getRate() {
+            return ServerConfig.getPacketRate(this);
+        }
+
+        /**
+         * @return The number of packets of this type a connection may send at once.
+         */
+        private int getBurst() {
+            return ServerConfig.getPacketBurst(this);
+        }
+    }
+
+    /**
+     * The rate limits and rejection counts of a single connection.
+     */
+    private static class ConnectionStats {
+        private final TokenBucket[] buckets = new TokenBucket[PacketType.values().length];
+        private final int[] rateLimitedPackets = new int[PacketType.values().length];
+        private int invalidPackets;
+
+        private ConnectionStats() {
+            for (int i = 0; i < this.buckets.length; i++)
+                this.buckets[i] = new TokenBucket();
+        }
+    }
+
+    /**
+     * A bucket that refills with tokens at a steady rate, up to a limit, and that packets take tokens out of.
+     */
+    private static class TokenBucket {
+        private double tokens = Double.NaN;
+        private long lastRefillTime;
+        // Whether a refusal has been answered since a token was last taken.
+        private boolean refusalAnswered = false;
+
+        /**
+         * Refills the bucket for the time that has passed and takes a token, if there is one.
+         *
+         * @param currentTime The current time, in milliseconds.
+         * @param rate The number of tokens added per second.
+         * @param burst The most tokens the bucket can hold.
+         *
+         * @return Whether a token was taken.
+         */
+        private boolean tryTake(long currentTime, double rate, int burst) {
+            // New buckets start full.
+            if (Double.isNaN(this.tokens))
+                this.tokens = burst;
+            else
+                this.tokens = Math.min(burst, this.tokens + (currentTime - this.lastRefillTime) * rate / 1000);
+
+            this.lastRefillTime = currentTime;
+
+            if (this.tokens < 1)
+                return false;
+
+            this.tokens--;
+            this.refusalAnswered = false;
+            return true;
+        }
+    }
+}
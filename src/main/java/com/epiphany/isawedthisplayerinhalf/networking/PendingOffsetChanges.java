@@ -0,0 +1,147 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Keeps track of the requests the client has made to change their own offsets, so that each response from the server
+ *   is matched to the request it answers, even with several in flight at once.
+ * Every request is given a sequence number that the server echoes back in its response.
+ * Requests that go unanswered for too long, or that get pushed out by newer ones, are treated as failed.
+ */
+@OnlyIn(Dist.CLIENT)
+public class PendingOffsetChanges {
+    private static final int MAXIMUM_PENDING = 16;
+    // How long, in milliseconds, to wait for the server to respond.
+    private static final long TIMEOUT = 10000;
+
+    // Kept in the order the requests were made in, so the oldest are always first.
+    private static final Int2ObjectLinkedOpenHashMap<PendingChange> pendingChanges = new Int2ObjectLinkedOpenHashMap<>();
+    private static int lastRequestId = SetOffsetsPacket.NO_REQUEST;
+
+    /**
+     * Registers a new request to change the client's offsets.
+     *
+     * @param offsets The offsets being requested.
+     * @param onRespond The function to call once the server responds; true if the offsets were set, false if not.
+     *
+     * @return The id to send along with the request.
+     */
+    static int register(Vec3d offsets, @Nullable Consumer<Boolean> onRespond) {
+        if (pendingChanges.size() >= MAXIMUM_PENDING)
+            pendingChanges.removeFirst().respond(false);
+
+        do {
+            lastRequestId++;
+        } while (lastRequestId == SetOffsetsPacket.NO_REQUEST || pendingChanges.containsKey(lastRequestId));
+
+        pendingChanges.put(lastRequestId, new PendingChange(offsets, onRespond, Util.milliTime() + TIMEOUT));
+        return lastRequestId;
+    }
+
+    /**
+     * Removes and returns the request with the given id, or null, if there is none.
+     *
+     * @param requestId The id of the request.
+     *
+     * @return The request, or null.
+     */
+    @Nullable
+    static PendingChange takeOrNull(int requestId) {
+        return requestId != SetOffsetsPacket.NO_REQUEST ? pendingChanges.remove(requestId) : null;
+    }
+
+
+
+    /**
+     * Fails requests that the server has taken too long to respond to, and drops all of them when leaving a world.
+     */
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent clientTickEvent) {
+        if (clientTickEvent.phase != TickEvent.Phase.END || pendingChanges.isEmpty())
+            return;
+
+        if (Minecraft.getInstance().world == null) {
+            pendingChanges.clear();
+            return;
+        }
+
+        long currentTime = Util.milliTime();
+
+        while (!pendingChanges.isEmpty() && pendingChanges.get(pendingChanges.firstIntKey()).expiryTime <= currentTime)
+            pendingChanges.removeFirst().respond(false);
+    }
+
+
+
+    /**
+     * A request to change the client's offsets that is waiting for a response.
+     */
+    static class PendingChange {
+        private final Vec3d offsets;
+        @Nullable private final Consumer<Boolean> onRespond;
+        private final long expiryTime;
+
+        private PendingChange(Vec3d offsets, @Nullable Consumer<Boolean> onRespond, long expiryTime) {
+            this.offsets = offsets;
+            this.onRespond = onRespond;
+            this.expiryTime = expiryTime;
+        }
+
+        /**
+         * Checks whether the server responded with the offsets that were requested.
+         *
+         * @param xOffset The x-offset the server responded with.
+         * @param yOffset The y-offset the server responded with.
+         * @param zOffset The z-offset the server responded with.
+         *
+         * @return Whether the offsets match the request.
+         */
+        boolean matches(double xOffset, double yOffset, double zOffset) {
+            return this.offsets.x == xOffset && this.offsets.y == yOffset && this.offsets.z == zOffset;
+        }
+
+        /**
+         * Tells whoever made the request how it went.
+         *
+         * @param success Whether the offsets were set.
+         */
+        void respond(boolean success) {
+            if (this.onRespond != null)
+                this.onRespond.accept(success);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.epiphany.isawedthisplayerinhalf.networking;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import javax.annotation.Nullable;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * Holds onto offsets that arrive for players the client has not loaded yet, so that they can be applied as soon as the
+ *   player is loaded instead of being asked for again.
+ * Bounded in size, and entries expire after a short while, since some of them will be for players that never load.
+ * Only used from the client thread.
+ */
+@OnlyIn(Dist.CLIENT)
+public class PendingOffsetsBuffer {
+    private static final int MAXIMUM_ENTRIES = 256;
+    // How long, in milliseconds, to hold onto offsets for.
+    private static final long EXPIRY_TIME = 10000;
+
+    // Kept in the order the offsets arrived in, so the oldest entries are always first.
+    private static final Int2ObjectLinkedOpenHashMap<PendingOffsets> pendingOffsets = new Int2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Holds onto the offsets of a player that has not been loaded yet, replacing any held for them already.
+     *
+     * @param playerEntityId The entity id of the player.
+     * @param offsets The offsets of the player.
+     */
+    static void buffer(int playerEntityId, Vec3d offsets) {
+        long currentTime = Util.milliTime();
+
+        while (!pendingOffsets.isEmpty() && (pendingOffsets.size() >= MAXIMUM_ENTRIES || pendingOffsets.get(pendingOffsets.firstIntKey()).expiryTime <= currentTime))
+            pendingOffsets.removeFirst();
+
+        pendingOffsets.putAndMoveToLast(playerEntityId, new PendingOffsets(offsets, currentTime + EXPIRY_TIME));
+    }
+
+    /**
+     * Removes and returns the offsets held for a player, or null, if there are none or they have expired.
+     *
+     * @param playerEntityId The entity id of the player.
+     *
+     * @return The offsets held for the player, or null.
+     */
+    @Nullable
+    public static Vec3d takeOrNull(int playerEntityId) {
+        if (pendingOffsets.isEmpty())
+            return null;
+
+        PendingOffsets offsets = pendingOffsets.remove(playerEntityId);
+
+        return offsets != null && offsets.expiryTime > Util.milliTime() ? offsets.offsets : null;
+    }
+
+    /**
+     * Throws away all held offsets.
+     */
+    public static void clear() {
+        pendingOffsets.clear();
+    }
+
+
+
+    /**
+     * Offsets waiting for their player, and when to give up on them.
+     */
+    private static class PendingOffsets {
+        private final Vec3d offsets;
+        private final long expiryTime;
+
+        private PendingOffsets(Vec3d offsets, long expiryTime) {
+            this.offsets = offsets;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -3,16 +3,17 @@ package com.epiphany.isawedthisplayerinhalf.networking;
 import com.epiphany.isawedthisplayerinhalf.ISawedThisPlayerInHalf;
 import com.epiphany.isawedthisplayerinhalf.Offsetter;
 import com.epiphany.isawedthisplayerinhalf.ServerTranslations;
+import com.epiphany.isawedthisplayerinhalf.helpers.PlayerNameIndex;
 import io.netty.handler.codec.DecoderException;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
-import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.fml.network.NetworkEvent;
 import org.apache.logging.log4j.Level;
 
@@ -75,42 +76,32 @@ public class RequestDisplayOffsetsPacket implements IPacket {
     public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
         NetworkEvent.Context context = contextSupplier.get();
 
-        DistExecutor.runWhenOn(Dist.DEDICATED_SERVER, () -> () -> context.enqueueWork(() -> {
+        // Rejects bad requests on the network thread, so that they never take up a task on the server thread.
+        if (FMLEnvironment.dist == Dist.DEDICATED_SERVER && !this.validateOnNetworkThread(context)) {
+            context.setPacketHandled(true);
+            return;
+        }
+
+        DistExecutor.runWhenOn(Dist.DEDICATED_SERVER, () -> () -> NetworkMetrics.enqueueWork(context, this, () -> {
             ServerPlayerEntity sender = context.getSender();
             if (sender == null)
                 return;
 
-            // Security.
-            if (this.playerName == null) {
-                sender.sendMessage(new TranslationTextComponent(
-                        "commands.swdthsplyrnhlf.errors.unknown_player")
-                        .applyTextStyle(TextFormatting.RED));
-
-                ISawedThisPlayerInHalf.LOGGER.log(Level.WARN, ServerTranslations.translateAndFormatKey(
-                        "network.error.request_display_offsets.invalid_name"), sender.getName().getString(), this.playerName);
-                return;
-            }
-
-
-            PlayerList playerList = sender.getServer().getPlayerList();
-            boolean success = false;
+            PlayerEntity player = PlayerNameIndex.findServerPlayerOrNull(this.playerName);
 
-            for (PlayerEntity player : playerList.getPlayers())
-                if (this.playerName.equals(player.getName().getString())) {
-                    Vec3d playerOffsets = Offsetter.getOffsetsOrNull(player);
+            if (player != null) {
+                String playerName = player.getName().getString();
+                Vec3d playerOffsets = Offsetter.getOffsetsOrNull(player);
 
-                    if (playerOffsets != null) {
-                        sender.sendMessage(new TranslationTextComponent(
-                                "commands.swdthsplyrnhlf.offsets.get.of_player", this.playerName, playerOffsets.x, playerOffsets.y, playerOffsets.z));
+                if (playerOffsets != null) {
+                    sender.sendMessage(new TranslationTextComponent(
+                            "commands.swdthsplyrnhlf.offsets.get.of_player", playerName, playerOffsets.x, playerOffsets.y, playerOffsets.z));
 
-                    } else
-                        sender.sendMessage(new TranslationTextComponent(
-                                "commands.swdthsplyrnhlf.offsets.get.no_offsets", this.playerName));
+                } else
+                    sender.sendMessage(new TranslationTextComponent(
+                            "commands.swdthsplyrnhlf.offsets.get.no_offsets", playerName));
 
-                    success = true;
-                }
-
-            if (!success)
+            } else
                 sender.sendMessage(new TranslationTextComponent(
                         "commands.swdthsplyrnhlf.errors.unknown_player")
                         .applyTextStyle(TextFormatting.RED));
@@ -118,4 +109,32 @@ public class RequestDisplayOffsetsPacket implements IPacket {
 
         context.setPacketHandled(true);
     }
+
+    /**
+     * Checks the rate limit and the requested name while still on the network thread.
+     *
+     * @param context The context of the packet.
+     *
+     * @return Whether the request should be handled on the server thread.
+     */
+    private boolean validateOnNetworkThread(NetworkEvent.Context context) {
+        ServerPlayerEntity sender = context.getSender();
+        if (sender == null || !PacketValidator.checkRate(context, PacketValidator.PacketType.REQUEST_DISPLAY_OFFSETS))
+            return false;
+
+        // Security.
+        if (this.playerName == null || this.playerName.isEmpty()) {
+            PacketValidator.countInvalid(context);
+
+            sender.sendMessage(new TranslationTextComponent(
+                    "commands.swdthsplyrnhlf.errors.unknown_player")
+                    .applyTextStyle(TextFormatting.RED));
+
+            ISawedThisPlayerInHalf.LOGGER.log(Level.WARN, ServerTranslations.translateAndFormatKey(
+                    "network.error.request_display_offsets.invalid_name", sender.getName().getString(), this.playerName));
+            return false;
+        }
+
+        return true;
+    }
 }
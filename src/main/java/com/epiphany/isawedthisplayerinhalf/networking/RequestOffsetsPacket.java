@@ -8,6 +8,7 @@ import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.fml.network.NetworkEvent;
 import net.minecraftforge.fml.network.PacketDistributor;
 
@@ -58,12 +59,12 @@ public class RequestOffsetsPacket implements IPacket {
      * @param packetBuffer The buffer of the sent packet.
      */
     public RequestOffsetsPacket(PacketBuffer packetBuffer) {
-        this.playerID = packetBuffer.readInt();
+        this.playerID = packetBuffer.readVarInt();
     }
 
     @Override
     public void toBytes(PacketBuffer packetBuffer) {
-        packetBuffer.writeInt(playerID);
+        packetBuffer.writeVarInt(playerID);
     }
 
 
@@ -72,7 +73,13 @@ public class RequestOffsetsPacket implements IPacket {
     public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
         NetworkEvent.Context context = contextSupplier.get();
 
-        DistExecutor.runWhenOn(Dist.DEDICATED_SERVER, () -> () -> context.enqueueWork(() -> {
+        // Rejects bad requests on the network thread, so that they never take up a task on the server thread.
+        if (FMLEnvironment.dist == Dist.DEDICATED_SERVER && !this.validateOnNetworkThread(context)) {
+            context.setPacketHandled(true);
+            return;
+        }
+
+        DistExecutor.runWhenOn(Dist.DEDICATED_SERVER, () -> () -> NetworkMetrics.enqueueWork(context, this, () -> {
             ServerPlayerEntity sender = context.getSender();
 
             if (sender != null) {
@@ -83,10 +90,32 @@ public class RequestOffsetsPacket implements IPacket {
 
                     if (offsets != null)
                         Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> sender), new SetOffsetsPacket((PlayerEntity) requestedPlayer, offsets.x, offsets.y, offsets.z));
+                    else
+                        Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> sender), new NoOffsetsPacket(playerID));
                 }
             }
         }));
 
         context.setPacketHandled(true);
     }
+
+    /**
+     * Checks the rate limit and the requested entity id while still on the network thread.
+     *
+     * @param context The context of the packet.
+     *
+     * @return Whether the request should be handled on the server thread.
+     */
+    private boolean validateOnNetworkThread(NetworkEvent.Context context) {
+        if (!PacketValidator.checkRate(context, PacketValidator.PacketType.REQUEST_OFFSETS))
+            return false;
+
+        // Security.
+        if (this.playerID < 0) {
+            PacketValidator.countInvalid(context);
+            return false;
+        }
+
+        return true;
+    }
 }
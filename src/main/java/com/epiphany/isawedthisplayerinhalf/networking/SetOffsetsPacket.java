@@ -11,23 +11,15 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
-import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraftforge.api.distmarker.Dist;
-import net.minecraftforge.api.distmarker.OnlyIn;
-import net.minecraftforge.event.entity.player.PlayerEvent;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.fml.network.NetworkEvent;
 import net.minecraftforge.fml.network.PacketDistributor;
 import org.apache.logging.log4j.Level;
 
-import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /*
@@ -58,46 +50,37 @@ import java.util.function.Supplier;
  * A packet used for sending a player's offsets.
  */
 public class SetOffsetsPacket implements IPacket {
-    private static final Map<UUID, Integer> warningCounter = new HashMap<>();
-    // TODO (MAYBE MAYBE NOT) Set up a queue for this if trySetClientOffsets(V,C) in Offsetter is used more than now.
-    private static Vec3d expectedOffsets = null;
-    private static Consumer<Boolean> responseListener = null;
+    // The request id of packets that are not answering a request to change the client's own offsets.
+    static final int NO_REQUEST = 0;
 
-    /**
-     * Updates the offsets that are expected from the server.
-     * When the server sends a SetOffsetsPacket over to the client for their own player, this is used to make sure that
-     *   this change is desired and that it should update the client's offsets.
-     * Once accepted the underlying variable will be set back to null.
-     *
-     * @param newExpectedOffsets The new offsets expected from the server.
-     */
-    static void setExpectedOffsets(@Nullable Vec3d newExpectedOffsets) {
-        expectedOffsets = newExpectedOffsets;
-    }
+    private final int requestId;
+    private int playerID;
+    private final double xOffset, yOffset, zOffset;
 
     /**
-     * Sets the function to call once the server serves a response packet; true if offsets were successfully set, false
-     *   if not.
-     * Once called the underlying variable will be set back to null.
+     * Creates a new SetOffsetsPacket.
      *
-     * @param onRespond The function to call when the server responds.
+     * @param player The player whose offsets are being sent.
+     * @param xOffset The x-offset of the player.
+     * @param yOffset The y-offset of the player.
+     * @param zOffset The z-offset of the player.
      */
-    static void setResponseListener(@Nullable Consumer<Boolean> onRespond) {
-        responseListener = onRespond;
+    SetOffsetsPacket(PlayerEntity player, double xOffset, double yOffset, double zOffset) {
+        this(NO_REQUEST, player, xOffset, yOffset, zOffset);
     }
 
-    private int playerID;
-    private final double xOffset, yOffset, zOffset;
-
     /**
-     * Creates a new SetOffsetsPacket.
+     * Creates a new SetOffsetsPacket that is part of a request to change the client's own offsets.
+     * The server sends the request id back in its response, so that the client can tell which request it answers.
      *
+     * @param requestId The id of the request.
      * @param player The player whose offsets are being sent.
      * @param xOffset The x-offset of the player.
      * @param yOffset The y-offset of the player.
      * @param zOffset The z-offset of the player.
      */
-    SetOffsetsPacket(PlayerEntity player, double xOffset, double yOffset, double zOffset) {
+    SetOffsetsPacket(int requestId, PlayerEntity player, double xOffset, double yOffset, double zOffset) {
+        this.requestId = requestId;
         this.playerID = player.getEntityId();
         this.xOffset = xOffset;
         this.yOffset = yOffset;
@@ -110,18 +93,23 @@ public class SetOffsetsPacket implements IPacket {
      * @param packetBuffer The buffer of the sent packet.
      */
     public SetOffsetsPacket(PacketBuffer packetBuffer) {
-        this.playerID = packetBuffer.readInt();
-        this.xOffset = packetBuffer.readDouble();
-        this.yOffset = packetBuffer.readDouble();
-        this.zOffset = packetBuffer.readDouble();
+        this.requestId = packetBuffer.readVarInt();
+
+        int[] playerIDs = new int[1];
+        double[] offsets = new double[3];
+        // Only the client's own changes go through here, which always use the client's config.
+        OffsetsCodec.read(packetBuffer, playerIDs, offsets, new int[1], 0);
+
+        this.playerID = playerIDs[0];
+        this.xOffset = offsets[0];
+        this.yOffset = offsets[1];
+        this.zOffset = offsets[2];
     }
 
     @Override
     public void toBytes(PacketBuffer packetBuffer) {
-        packetBuffer.writeInt(this.playerID);
-        packetBuffer.writeDouble(this.xOffset);
-        packetBuffer.writeDouble(this.yOffset);
-        packetBuffer.writeDouble(this.zOffset);
+        packetBuffer.writeVarInt(this.requestId);
+        OffsetsCodec.write(packetBuffer, this.playerID, this.xOffset, this.yOffset, this.zOffset, Offsetter.DEFAULT_TRANSITION);
     }
 
 
@@ -130,58 +118,59 @@ public class SetOffsetsPacket implements IPacket {
     public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
         NetworkEvent.Context context = contextSupplier.get();
 
+        if (FMLEnvironment.dist == Dist.DEDICATED_SERVER && !this.validateOnNetworkThread(context)) {
+            context.setPacketHandled(true);
+            return;
+        }
+
         final boolean MAGIC_BOOLEAN = true;
-        context.enqueueWork(() -> DistExecutor.runForDist(
+        NetworkMetrics.enqueueWork(context, this, () -> DistExecutor.runForDist(
                 // Client-side.
                 () -> () -> {
                     Minecraft minecraftInstance = Minecraft.getInstance();
                     Entity possiblePlayer = minecraftInstance.world.getEntityByID(this.playerID);
 
+                    // Responses to the client's own requests are matched up with the request by its id.
+                    PendingOffsetChanges.PendingChange pendingChange = minecraftInstance.player.equals(possiblePlayer) ?
+                            PendingOffsetChanges.takeOrNull(this.requestId) : null;
 
                     // Security.
                     if (!Double.isFinite(this.xOffset) || !Double.isFinite(this.yOffset) || !Double.isFinite(this.zOffset)) {
                         ISawedThisPlayerInHalf.LOGGER.log(Level.WARN,
                                 I18n.format("network.error.set_offsets.invalid_offsets", this.playerID));
 
-                        if (responseListener != null && expectedOffsets != null && possiblePlayer.equals(minecraftInstance.player)) {
-                            responseListener.accept(false);
-                            responseListener = null;
-
-                            expectedOffsets = null;
-                        }
+                        if (pendingChange != null)
+                            pendingChange.respond(false);
 
                         return MAGIC_BOOLEAN;
                     }
 
 
-                    if (possiblePlayer instanceof PlayerEntity)
+                    if (possiblePlayer instanceof PlayerEntity) {
                         if (possiblePlayer.equals(minecraftInstance.player)) {
-                            boolean response;
-
                             // Checks to see if the change is desired.
-                            if (expectedOffsets != null && expectedOffsets.x == this.xOffset && expectedOffsets.y == this.yOffset
-                                    && expectedOffsets.z == this.zOffset) {
-                                Offsetter.setOffsets((PlayerEntity) possiblePlayer, new Vec3d(this.xOffset, this.yOffset, this.zOffset));
+                            if (pendingChange != null && pendingChange.matches(this.xOffset, this.yOffset, this.zOffset)) {
+                                Offsetter.setOffsets((PlayerEntity) possiblePlayer, new Vec3d(this.xOffset, this.yOffset, this.zOffset),
+                                        Offsetter.DEFAULT_TRANSITION);
                                 ClientConfig.setOffsets(this.xOffset, this.yOffset, this.zOffset);
 
-                                response = true;
+                                pendingChange.respond(true);
+
+                            // Changes answered with other offsets were refused, such as for being sent too quickly.
+                            } else if (pendingChange != null) {
+                                pendingChange.respond(false);
 
-                            } else {
-                                response = false;
+                            } else
                                 ISawedThisPlayerInHalf.LOGGER.log(Level.WARN,
                                         I18n.format("network.error.set_offsets.invalid_offsets", this.playerID));
-                            }
-
-                            expectedOffsets = null;
-
-                            if (responseListener != null) {
-                                responseListener.accept(response);
-                                responseListener = null;
-                            }
 
                         } else
                             Offsetter.setOffsets((PlayerEntity) possiblePlayer, new Vec3d(this.xOffset, this.yOffset, this.zOffset));
 
+                    // Holds onto the offsets until the player is loaded.
+                    } else if (possiblePlayer == null)
+                        PendingOffsetsBuffer.buffer(this.playerID, new Vec3d(this.xOffset, this.yOffset, this.zOffset));
+
                     return MAGIC_BOOLEAN;
                 },
 
@@ -191,65 +180,85 @@ public class SetOffsetsPacket implements IPacket {
                     if (sender == null)
                         return MAGIC_BOOLEAN;
 
-                    // Security.
-                    if (!Double.isFinite(this.xOffset) || !Double.isFinite(this.yOffset) || !Double.isFinite(this.zOffset)) {
-                        ISawedThisPlayerInHalf.LOGGER.log(Level.WARN, ServerTranslations.translateAndFormatKey(
-                                "network.error.set_offsets.invalid_offsets", sender.getName().getString()));
+                    // The first offsets a player sends mean they just joined with the mod, so they need everyone else's.
+                    if (Offsetter.getOffsetsOrNull(sender) == null)
+                        OffsetsBroadcaster.queueSnapshot(sender);
 
-                        Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> sender), this);
+                    this.playerID = sender.getEntityId();
 
 
-                        // Kicks players if they send too many invalid packets.
-                        UUID senderUUID = sender.getUniqueID();
-                        int warnings = warningCounter.getOrDefault(senderUUID, 1);
+                    Offsetter.setOffsets(sender, new Vec3d(this.xOffset, this.yOffset, this.zOffset));
 
-                        if (ServerConfig.shouldKickOnInvalid() && warnings > ServerConfig.getKickWarningCount()) {
-                            sender.connection.disconnect(new TranslationTextComponent("network.disconnect.invalid_offsets"));
-                            warningCounter.remove(senderUUID);
 
-                            ISawedThisPlayerInHalf.LOGGER.log(Level.WARN, ServerTranslations.translateAndFormatKey(
-                                    "network.disconnected_player.invalid_offsets", sender.getName().getString()));
+                    // Responds to the sender right away, and routes the change to the players tracking them at the end of the
+                    //   tick.
+                    Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> sender), this);
+                    OffsetsBroadcaster.queueOffsets(sender);
 
-                        } else
-                            warningCounter.put(senderUUID, warnings + 1);
+                    return MAGIC_BOOLEAN;
+                }
+        ));
 
+        context.setPacketHandled(true);
+    }
 
-                        if (Offsetter.getOffsetsOrNull(sender) == null)
-                            Offsetter.setOffsets(sender, Vec3d.ZERO);
+    /**
+     * Checks a packet sent to the server while still on the network thread, so that bad packets never take up a task
+     *   on the server thread.
+     * Invalid and rate-limited offsets are refused right away, and players that send too many invalid ones are kicked.
+     *
+     * @param context The context of the packet.
+     *
+     * @return Whether the packet should be handled on the server thread.
+     */
+    private boolean validateOnNetworkThread(NetworkEvent.Context context) {
+        ServerPlayerEntity sender = context.getSender();
+        if (sender == null)
+            return false;
 
+        // Answers the first rate-limited change with the offsets the player still has, so that their client gives up on it
+        //   right away. Any more before the limit lets up are dropped, and left to time out on the client.
+        if (!PacketValidator.checkRate(context, PacketValidator.PacketType.SET_OFFSETS)) {
+            if (PacketValidator.shouldAnswerRefusal(context, PacketValidator.PacketType.SET_OFFSETS)) {
+                Vec3d offsets = Offsetter.getOffsets(sender);
+                Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> sender),
+                        new SetOffsetsPacket(this.requestId, sender, offsets.x, offsets.y, offsets.z));
+            }
 
-                        return MAGIC_BOOLEAN;
-                    }
+            return false;
+        }
 
-                    this.playerID = sender.getEntityId();
+        // Security.
+        if (!Double.isFinite(this.xOffset) || !Double.isFinite(this.yOffset) || !Double.isFinite(this.zOffset)) {
+            ISawedThisPlayerInHalf.LOGGER.log(Level.WARN, ServerTranslations.translateAndFormatKey(
+                    "network.error.set_offsets.invalid_offsets", sender.getName().getString()));
 
+            Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> sender), this);
 
-                    Offsetter.setOffsets(sender, new Vec3d(this.xOffset, this.yOffset, this.zOffset));
 
+            // Kicks players if they send too many invalid packets.
+            int invalidPackets = PacketValidator.countInvalid(context);
 
-                    // Routes packet to the other players on the server with the mod.
-                    UUID senderUUID = sender.getUniqueID();
-                    PlayerList playerList = sender.getServer().getPlayerList();
+            if (ServerConfig.shouldKickOnInvalid() && invalidPackets > ServerConfig.getKickWarningCount()) {
+                sender.connection.disconnect(new TranslationTextComponent("network.disconnect.invalid_offsets"));
 
-                    for (UUID otherPlayerUUID : Offsetter.getOffsetPlayerUUIDs()) {
-                        ServerPlayerEntity otherPlayer = playerList.getPlayerByUUID(otherPlayerUUID);
-                        Networker.modChannel.send(PacketDistributor.PLAYER.with(() -> otherPlayer), this);
-                    }
+                ISawedThisPlayerInHalf.LOGGER.log(Level.WARN, ServerTranslations.translateAndFormatKey(
+                        "network.disconnected_player.invalid_offsets", sender.getName().getString()));
+            }
 
-                    return MAGIC_BOOLEAN;
-                }
-        ));
 
-        context.setPacketHandled(true);
-    }
+            // Still marks the player as having the mod, which only needs doing once.
+            if (Offsetter.getOffsetsOrNull(sender) == null)
+                NetworkMetrics.enqueueWork(context, this, () -> {
+                    if (Offsetter.getOffsetsOrNull(sender) == null) {
+                        OffsetsBroadcaster.queueSnapshot(sender);
+                        Offsetter.setOffsets(sender, Vec3d.ZERO);
+                    }
+                });
 
+            return false;
+        }
 
-    /**
-     * Removes players' warning counts when they leave.
-     */
-    @OnlyIn(Dist.DEDICATED_SERVER)
-    @SubscribeEvent
-    public static void onPlayerLeaveServer(PlayerEvent.PlayerLoggedOutEvent playerLoggedOutEvent) {
-        warningCounter.remove(playerLoggedOutEvent.getPlayer().getUniqueID());
+        return true;
     }
 }
@@ -1,5 +1,8 @@
 package com.epiphany.isawedthisplayerinhalf.rendering;
 
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+
 /*
  * MIT License
  *
@@ -26,6 +29,10 @@ package com.epiphany.isawedthisplayerinhalf.rendering;
 
 /**
  * An object for storing the information necessary to offset the rendering of the player's body.
+ * Can also slide from one set of offsets to another over a number of ticks, in which case {@link #update(float)} must be
+ *   called before reading the offsets while rendering.
+ * Updated in place when a player's offsets change, rather than replaced. Changes and rendering both happen on the client
+ *   thread, so the offsets can never be seen half-written.
  */
 public class RenderingOffsets {
     private float xOffset, yOffset, zOffset;
@@ -33,6 +40,19 @@ public class RenderingOffsets {
 
     private boolean shouldOffsetRender;
 
+    // Transition. The target is also kept outside of transitions, as the offsets last set.
+    private float startXOffset, startYOffset, startZOffset;
+    private float targetXOffset, targetYOffset, targetZOffset, targetYawOffset;
+    private float transitionStart;
+    private int transitionTicks = 0;
+
+    // Level of detail. The offsets rotated by the yaw they were last rotated by, reused until either of them change.
+    private float rotatedYaw = Float.NaN;
+    private float rotatedXOffset, rotatedZOffset;
+
+    // Culling. The box covering both halves is kept until the player moves or the offsets change.
+    private AxisAlignedBB cullingSourceBox, cullingBox;
+
     /**
      * Creates a new instance of RenderingOffsets.
      *
@@ -54,10 +74,158 @@ public class RenderingOffsets {
      * @param yawOffset The yaw offset of the player.
      */
     public void setOffsets(float xOffset, float yOffset, float zOffset, float yawOffset) {
+        this.targetXOffset = xOffset;
+        this.targetYOffset = yOffset;
+        this.targetZOffset = zOffset;
+        this.targetYawOffset = yawOffset;
+        this.transitionTicks = 0;
+        this.cullingBox = null;
+
+        this.applyOffsets(xOffset, yOffset, zOffset, yawOffset);
+    }
+
+    /**
+     * Checks whether the offsets are already set to, or sliding to, the given offsets.
+     *
+     * @param xOffset The x-offset to check.
+     * @param yOffset The y-offset to check.
+     * @param zOffset The z-offset to check.
+     *
+     * @return Whether the offsets end up at the given offsets.
+     */
+    public boolean isHeadingTo(float xOffset, float yOffset, float zOffset) {
+        return this.targetXOffset == xOffset && this.targetYOffset == yOffset && this.targetZOffset == zOffset;
+    }
+
+    /**
+     * Starts sliding from the offsets currently being rendered to new ones.
+     *
+     * @param xOffset The x-offset to slide to.
+     * @param yOffset The y-offset to slide to.
+     * @param zOffset The z-offset to slide to.
+     * @param yawOffset The yaw offset to slide to.
+     * @param startTime The age of the player, in ticks, at which the transition starts.
+     * @param transitionTicks How many ticks the transition takes.
+     */
+    public void transitionTo(float xOffset, float yOffset, float zOffset, float yawOffset, float startTime, int transitionTicks) {
+        if (transitionTicks <= 0) {
+            this.setOffsets(xOffset, yOffset, zOffset, yawOffset);
+            return;
+        }
+
+        // Starts from wherever the current transition has gotten to.
+        this.update(startTime);
+
+        this.startXOffset = this.xOffset;
+        this.startYOffset = this.yOffset;
+        this.startZOffset = this.zOffset;
+        this.targetXOffset = xOffset;
+        this.targetYOffset = yOffset;
+        this.targetZOffset = zOffset;
+        this.targetYawOffset = yawOffset;
+        this.transitionStart = startTime;
+        this.transitionTicks = transitionTicks;
+        this.cullingBox = null;
+    }
+
+    /**
+     * Moves the offsets along the current transition, if there is one.
+     *
+     * @param ageInTicks The age of the player, in ticks, including the partial tick.
+     */
+    public void update(float ageInTicks) {
+        if (this.transitionTicks == 0)
+            return;
+
+        float progress = (ageInTicks - this.transitionStart) / this.transitionTicks;
+        // First-person arms are rendered with an age of 0, which says nothing about how far along the transition is.
+        if (progress < 0)
+            return;
+
+        if (progress >= 1) {
+            this.setOffsets(this.targetXOffset, this.targetYOffset, this.targetZOffset, this.targetYawOffset);
+
+        } else {
+            float xOffset = MathHelper.lerp(progress, this.startXOffset, this.targetXOffset);
+            float zOffset = MathHelper.lerp(progress, this.startZOffset, this.targetZOffset);
+
+            // The yaw offset follows the direction of the offsets, the same way it is worked out in RenderingOffsetter.
+            this.applyOffsets(xOffset, MathHelper.lerp(progress, this.startYOffset, this.targetYOffset), zOffset,
+                    (float) (Math.atan2(-zOffset, xOffset) * 2));
+        }
+    }
+
+    /**
+     * Rotates the x and z offsets by the given yaw, which can then be read with {@link #getRotatedXOffset()} and
+     *   {@link #getRotatedZOffset()}.
+     * Nothing is worked out if neither the yaw nor the offsets have changed since the last rotation, which is what makes
+     *   far-away players, whose yaw is only taken once per tick, cheap to render.
+     *
+     * @param yaw The yaw to rotate by, in radians.
+     */
+    public void rotate(float yaw) {
+        if (yaw == this.rotatedYaw)
+            return;
+
+        float sin = MathHelper.sin(yaw);
+        float cos = MathHelper.cos(yaw);
+
+        this.rotatedXOffset = this.xOffset * cos - this.zOffset * sin;
+        this.rotatedZOffset = this.xOffset * sin + this.zOffset * cos;
+        this.rotatedYaw = yaw;
+    }
+
+    /**
+     * Gets a bounding box covering both the player's body and their offset upper body, for frustum culling.
+     * During a transition, the box covers the whole slide, so that it does not need rebuilding every frame.
+     * The box is cached, and only rebuilt when the player's bounding box or offsets change.
+     *
+     * @param boundingBox The bounding box of the player's body.
+     *
+     * @return The bounding box covering both halves of the player.
+     */
+    public AxisAlignedBB getCullingBox(AxisAlignedBB boundingBox) {
+        if (this.cullingBox != null && boundingBox.equals(this.cullingSourceBox))
+            return this.cullingBox;
+
+        // The offsets are in model units, with the y-axis flipped, so they are turned back into blocks first.
+        final double RENDERING_TO_PHYSICAL_COORDINATES = 1 / RenderingOffsetter.PHYSICAL_TO_RENDERING_COORDINATES;
+
+        double targetXOffset = this.targetXOffset * RENDERING_TO_PHYSICAL_COORDINATES;
+        double targetYOffset = this.targetYOffset * -RENDERING_TO_PHYSICAL_COORDINATES;
+        double targetZOffset = this.targetZOffset * RENDERING_TO_PHYSICAL_COORDINATES;
+        double minXOffset = Math.min(targetXOffset, 0), maxXOffset = Math.max(targetXOffset, 0);
+        double minYOffset = Math.min(targetYOffset, 0), maxYOffset = Math.max(targetYOffset, 0);
+        double minZOffset = Math.min(targetZOffset, 0), maxZOffset = Math.max(targetZOffset, 0);
+
+        if (this.transitionTicks != 0) {
+            double startXOffset = this.startXOffset * RENDERING_TO_PHYSICAL_COORDINATES;
+            double startYOffset = this.startYOffset * -RENDERING_TO_PHYSICAL_COORDINATES;
+            double startZOffset = this.startZOffset * RENDERING_TO_PHYSICAL_COORDINATES;
+
+            minXOffset = Math.min(minXOffset, startXOffset);
+            maxXOffset = Math.max(maxXOffset, startXOffset);
+            minYOffset = Math.min(minYOffset, startYOffset);
+            maxYOffset = Math.max(maxYOffset, startYOffset);
+            minZOffset = Math.min(minZOffset, startZOffset);
+            maxZOffset = Math.max(maxZOffset, startZOffset);
+        }
+
+        this.cullingSourceBox = boundingBox;
+        this.cullingBox = new AxisAlignedBB(boundingBox.minX + minXOffset, boundingBox.minY + minYOffset, boundingBox.minZ + minZOffset,
+                boundingBox.maxX + maxXOffset, boundingBox.maxY + maxYOffset, boundingBox.maxZ + maxZOffset);
+
+        return this.cullingBox;
+    }
+
+
+
+    private void applyOffsets(float xOffset, float yOffset, float zOffset, float yawOffset) {
         this.xOffset = xOffset;
         this.yOffset = yOffset;
         this.zOffset = zOffset;
         this.yawOffset = yawOffset;
+        this.rotatedYaw = Float.NaN;
 
         this.shouldOffsetRender = xOffset != 0 || yOffset != 0 || zOffset != 0 || yawOffset != 0;
     }
@@ -98,6 +266,24 @@ public class RenderingOffsets {
         return this.yawOffset;
     }
 
+    /**
+     * Gets the x-offset of the player, as last rotated by {@link #rotate(float)}.
+     *
+     * @return The player's rotated x-offset.
+     */
+    public float getRotatedXOffset() {
+        return this.rotatedXOffset;
+    }
+
+    /**
+     * Gets the z-offset of the player, as last rotated by {@link #rotate(float)}.
+     *
+     * @return The player's rotated z-offset.
+     */
+    public float getRotatedZOffset() {
+        return this.rotatedZOffset;
+    }
+
     /**
      * Gets whether it is necessary to offset a render with the player's offsets.
      *
@@ -1,8 +1,10 @@
 package com.epiphany.isawedthisplayerinhalf.rendering;
 
 import com.epiphany.isawedthisplayerinhalf.Offsetter;
+import com.epiphany.isawedthisplayerinhalf.config.ClientConfig;
 import com.epiphany.isawedthisplayerinhalf.helpers.ReflectionHelper;
 import com.epiphany.isawedthisplayerinhalf.rendering.modfiedRendering.ModifiedPlayerRenderer;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.entity.EntityRendererManager;
 import net.minecraft.client.renderer.entity.PlayerRenderer;
@@ -12,10 +14,10 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /*
  * MIT License
@@ -47,15 +49,18 @@ import java.util.concurrent.ConcurrentHashMap;
 @OnlyIn(Dist.CLIENT)
 public class RenderingOffsetter {
     // EntityRendererManager.
-    private static final Field FIELD_skinMap;
+    private static final MethodHandle GETTER_skinMap;
+    // Final, which method handles refuse to write to, so it stays a reflected field. Only set once, at startup.
     private static final Field FIELD_playerRenderer;
 
     static {
-        FIELD_skinMap = ReflectionHelper.getDeclaredFieldOrNull(EntityRendererManager.class, "skinMap", "field_178636_l");
+        GETTER_skinMap = ReflectionHelper.unreflectGetterOrNull(
+                ReflectionHelper.getDeclaredFieldOrNull(EntityRendererManager.class, "skinMap", "field_178636_l"),
+                MethodType.methodType(Map.class, EntityRendererManager.class));
         FIELD_playerRenderer = ReflectionHelper.getDeclaredFieldOrNull(EntityRendererManager.class, "playerRenderer", "field_178637_m");
 
-        if (FIELD_skinMap == null)
-            throw new NullPointerException("Unable to find field 'FIELD_skinMap' under names 'skinMap' and 'field_178636_l'");
+        if (GETTER_skinMap == null)
+            throw new NullPointerException("Unable to find field 'GETTER_skinMap' under names 'skinMap' and 'field_178636_l'");
         if (FIELD_playerRenderer == null)
             throw new NullPointerException("Unable to find field 'FIELD_playerRenderer' under names 'playerRenderer' and 'field_178637_m'");
     }
@@ -63,11 +68,17 @@ public class RenderingOffsetter {
     /**
      * Replaces the two player renderers in EntityRendererManager with modified variants that render the split player models.
      */
+    @SuppressWarnings("unchecked")
     public static void replacePlayerRenderers() {
         EntityRendererManager entityRendererManager = Minecraft.getInstance().getRenderManager();
 
-        Map<String, PlayerRenderer> skinMap = (Map<String, PlayerRenderer>) ReflectionHelper.getValueOrDefault(FIELD_skinMap, entityRendererManager, null);
-        if (skinMap == null) throw new NullPointerException("Unable to get value from 'FIELD_skinMap'");
+        Map<String, PlayerRenderer> skinMap;
+        try {
+            skinMap = (Map<String, PlayerRenderer>) GETTER_skinMap.invokeExact(entityRendererManager);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+        if (skinMap == null) throw new NullPointerException("Unable to get value from 'GETTER_skinMap'");
 
         PlayerRenderer newDefaultRenderer = new ModifiedPlayerRenderer(entityRendererManager, false);
         skinMap.replace("default", newDefaultRenderer);
@@ -77,59 +88,95 @@ public class RenderingOffsetter {
 
 
 
-    private static final ConcurrentHashMap<UUID, RenderingOffsets> renderingOffsetsMap = new ConcurrentHashMap<>();
+    /**
+     * How many model units make up a block. Rendering offsets are stored in model units, with the y-axis flipped.
+     */
+    public static final double PHYSICAL_TO_RENDERING_COORDINATES = 17.0660750427;
+
+    // Keeps servers from making offset changes take forever to show up.
+    private static final int MAXIMUM_TRANSITION_TICKS = 1200;
+
+    // Keyed by entity id, and only ever touched from the client thread, so that looking up the offsets of every rendered
+    //   entity stays cheap. Changes made from other threads, like the integrated server's, are handed over to it.
+    private static final Int2ObjectOpenHashMap<RenderingOffsets> renderingOffsetsMap = new Int2ObjectOpenHashMap<>();
+    // Changes whenever any rendering offsets are set or removed.
+    private static int version = 0;
 
     /**
      * Returns the rendering offsets an entity has, or null, if it has none.
+     * Only to be called from the client thread.
      *
      * @param entity The entity to get the offsets of.
      *
      * @return The entity's offsets.
      */
     public static RenderingOffsets getOffsetsOrNull(Entity entity) {
-        return entity instanceof PlayerEntity ? renderingOffsetsMap.get(entity.getUniqueID()) : null;
+        return entity instanceof PlayerEntity && !renderingOffsetsMap.isEmpty() ? renderingOffsetsMap.get(entity.getEntityId()) : null;
+    }
+
+    /**
+     * Returns a number that changes whenever any player's rendering offsets are set or removed.
+     *
+     * @return The version of the rendering offsets.
+     */
+    public static int getVersion() {
+        return version;
     }
 
     /**
      * Calculates and assigns rendering offset information to a player.
+     * Players that already have rendering offsets slide over to the new ones over the given number of ticks.
      *
-     * Do not run this method directly; use {@link com.epiphany.isawedthisplayerinhalf.Offsetter#setOffsets(PlayerEntity, Vec3d)} instead.
+     * Do not run this method directly; use {@link com.epiphany.isawedthisplayerinhalf.Offsetter#setOffsets(PlayerEntity, Vec3d, int)} instead.
      *
      * @param playerEntity The player to set the offsets for.
      * @param offsets The physical offsets of the player's body.
+     * @param transitionTicks How many ticks to take to slide to the new offsets, or
+     *   {@link Offsetter#DEFAULT_TRANSITION} to use the client's config.
      */
-    public static void setOffsets(PlayerEntity playerEntity, Vec3d offsets) {
-        final double PHYSICAL_TO_RENDERING_COORDINATES = 17.0660750427;
+    public static void setOffsets(PlayerEntity playerEntity, Vec3d offsets, int transitionTicks) {
+        float xOffset = (float) (offsets.x * PHYSICAL_TO_RENDERING_COORDINATES);
+        float yOffset = (float) (offsets.y * -PHYSICAL_TO_RENDERING_COORDINATES);
+        float zOffset = (float) (offsets.z * PHYSICAL_TO_RENDERING_COORDINATES);
+        int entityId = playerEntity.getEntityId();
+
+        runOnClientThread(() -> {
+            RenderingOffsets renderingOffsets = renderingOffsetsMap.get(entityId);
+            // Resending the same offsets changes nothing.
+            if (renderingOffsets != null && renderingOffsets.isHeadingTo(xOffset, yOffset, zOffset))
+                return;
 
-        float xOffset, yOffset, zOffset;
-        float yawOffset;
-
-        if (!offsets.equals(Vec3d.ZERO)) {
-            xOffset = (float) (offsets.x * PHYSICAL_TO_RENDERING_COORDINATES);
-            yOffset = (float) (offsets.y * -PHYSICAL_TO_RENDERING_COORDINATES);
-            zOffset = (float) (offsets.z * PHYSICAL_TO_RENDERING_COORDINATES);
             // Angle needs to be multiplied by two for whatever reason.
-            yawOffset = (float) (Math.atan2(-offsets.z, offsets.x) * 2);
+            float yawOffset = !offsets.equals(Vec3d.ZERO) ? (float) (Math.atan2(-offsets.z, offsets.x) * 2) : 0;
+            int resolvedTransitionTicks = transitionTicks == Offsetter.DEFAULT_TRANSITION ? ClientConfig.getTransitionTicks() : transitionTicks;
+            resolvedTransitionTicks = Math.min(resolvedTransitionTicks, MAXIMUM_TRANSITION_TICKS);
 
-        } else {
-            xOffset = 0;
-            yOffset = 0;
-            zOffset = 0;
-            yawOffset = 0;
-        }
+            // Updates the existing offsets in place, only creating new ones for players that have none yet.
+            if (renderingOffsets == null) {
+                renderingOffsetsMap.put(entityId, new RenderingOffsets(xOffset, yOffset, zOffset, yawOffset));
+
+            } else if (resolvedTransitionTicks > 0) {
+                renderingOffsets.transitionTo(xOffset, yOffset, zOffset, yawOffset, playerEntity.ticksExisted, resolvedTransitionTicks);
 
-        renderingOffsetsMap.put(playerEntity.getUniqueID(), new RenderingOffsets(xOffset, yOffset, zOffset, yawOffset));
+            } else
+                renderingOffsets.setOffsets(xOffset, yOffset, zOffset, yawOffset);
+
+            version++;
+        });
     }
 
     /**
-     * Removes the offsets of the player with the given UUID.
+     * Removes the offsets of the player with the given entity id.
      *
      * Do not run this method directly; use {@link com.epiphany.isawedthisplayerinhalf.Offsetter#unsetOffsets(PlayerEntity)} instead.
      *
-     * @param playerUUID The UUID of the player.
+     * @param entityId The entity id of the player.
      */
-    public static void unsetOffsets(UUID playerUUID) {
-        renderingOffsetsMap.remove(playerUUID);
+    public static void unsetOffsets(int entityId) {
+        runOnClientThread(() -> {
+            renderingOffsetsMap.remove(entityId);
+            version++;
+        });
     }
 
     /**
@@ -138,6 +185,24 @@ public class RenderingOffsetter {
      * Do not run this method directly; use {@link Offsetter#clearAllOffsets()} instead.
      */
     public static void clearAllOffsets() {
-        renderingOffsetsMap.clear();
+        runOnClientThread(() -> {
+            renderingOffsetsMap.clear();
+            version++;
+        });
+    }
+
+    /**
+     * Runs a change to the rendering offsets on the client thread, right away if already on it, or otherwise as soon as
+     *   the client gets to it.
+     *
+     * @param change The change to run.
+     */
+    private static void runOnClientThread(Runnable change) {
+        Minecraft minecraft = Minecraft.getInstance();
+
+        if (minecraft.isOnExecutionThread())
+            change.run();
+        else
+            minecraft.execute(change);
     }
 }
@@ -0,0 +1,82 @@
+package com.epiphany.isawedthisplayerinhalf.rendering.modfiedRendering;
+
+import com.epiphany.isawedthisplayerinhalf.config.ClientConfig;
+import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsetter;
+import com.mojang.blaze3d.matrix.MatrixStack;
+import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.client.renderer.entity.IEntityRenderer;
+import net.minecraft.client.renderer.entity.layers.BipedArmorLayer;
+import net.minecraft.client.renderer.entity.model.BipedModel;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.inventory.EquipmentSlotType;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 ona-li-toki-e-jan-Epiphany-tawa-mi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+*/
+
+/**
+ * An armor layer that stops rendering the armor on the upper halves of offset players once they are far enough away, as
+ *   set in the client config. The armor on their legs is always rendered.
+ */
+@OnlyIn(Dist.CLIENT)
+public class ModifiedBipedArmorLayer<ENTITY_TYPE extends LivingEntity, MODEL_TYPE extends BipedModel<ENTITY_TYPE>, ARMOR_TYPE extends BipedModel<ENTITY_TYPE>>
+        extends BipedArmorLayer<ENTITY_TYPE, MODEL_TYPE, ARMOR_TYPE> {
+    // Whether the entity being rendered is far enough away to leave out the armor on their upper half.
+    private boolean hideUpperArmor = false;
+
+    /**
+     * Creates a new ModifiedBipedArmorLayer.
+     *
+     * @param entityRenderer The renderer the layer belongs to.
+     * @param leggingsModel The model used for leggings.
+     * @param armorModel The model used for the rest of the armor.
+     */
+    public ModifiedBipedArmorLayer(IEntityRenderer<ENTITY_TYPE, MODEL_TYPE> entityRenderer, ARMOR_TYPE leggingsModel, ARMOR_TYPE armorModel) {
+        super(entityRenderer, leggingsModel, armorModel);
+    }
+
+    @Override
+    public void render(MatrixStack matrixStack, IRenderTypeBuffer renderTypeBuffer, int packedLight, ENTITY_TYPE entity, float limbSwing,
+                       float limbSwingAmount, float partialTicks, float ageInTicks, float netHeadYaw, float headPitch) {
+        this.hideUpperArmor = RenderingOffsetter.getOffsetsOrNull(entity) != null
+                && ModifiedModelCommon.isFartherThan(entity, ClientConfig.getArmorDistance());
+
+        super.render(matrixStack, renderTypeBuffer, packedLight, entity, limbSwing, limbSwingAmount, partialTicks, ageInTicks, netHeadYaw, headPitch);
+    }
+
+    @Override
+    protected void setModelSlotVisible(ARMOR_TYPE model, EquipmentSlotType slot) {
+        super.setModelSlotVisible(model, slot);
+
+        // Leggings use their own model, which is never offset.
+        if (this.hideUpperArmor && slot != EquipmentSlotType.LEGS) {
+            model.bipedHead.showModel = false;
+            model.bipedHeadwear.showModel = false;
+            model.bipedBody.showModel = false;
+            model.bipedRightArm.showModel = false;
+            model.bipedLeftArm.showModel = false;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.epiphany.isawedthisplayerinhalf.rendering.modfiedRendering;
 
+import com.epiphany.isawedthisplayerinhalf.config.ClientConfig;
 import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsets;
+import com.epiphany.isawedthisplayerinhalf.rendering.RenderingOffsetter;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.MathHelper;
 
+import javax.annotation.Nullable;
+
 /*
  * MIT License
  *
@@ -32,6 +38,63 @@ import net.minecraft.util.math.MathHelper;
  * Common methods used in the modified models.
  */
 public class ModifiedModelCommon {
+    // The transform worked out for the last entity rendered, which the rest of the models rendering that entity in the
+    //   same frame reuse.
+    private static final OffsetTransform cachedTransform = new OffsetTransform();
+    private static boolean isTransformCached = false;
+    private static int cachedEntityId;
+    private static float cachedAgeInTicks;
+    private static int cachedOffsetsVersion;
+
+    /**
+     * Gets the transform that moves the upper body of an entity into its offset position, or null, if it has no
+     *   rendering offsets.
+     * Worked out once per entity per frame, so that the body, the armor, and any other models rendering the entity in
+     *   the same frame share the result. The returned transform is reused, so it should not be held onto.
+     *
+     * @param entity The entity (player) being rendered.
+     * @param ageInTicks The age in ticks of the entity supplied by setRotationAngles().
+     *
+     * @return The transform of the entity's upper body, or null.
+     */
+    @Nullable
+    static OffsetTransform getTransformOrNull(LivingEntity entity, float ageInTicks) {
+        int offsetsVersion = RenderingOffsetter.getVersion();
+
+        if (isTransformCached && cachedEntityId == entity.getEntityId() && cachedAgeInTicks == ageInTicks && cachedOffsetsVersion == offsetsVersion)
+            return cachedTransform.hasOffsets ? cachedTransform : null;
+
+        isTransformCached = true;
+        cachedEntityId = entity.getEntityId();
+        cachedAgeInTicks = ageInTicks;
+        cachedOffsetsVersion = offsetsVersion;
+
+
+        RenderingOffsets renderingOffsets = RenderingOffsetter.getOffsetsOrNull(entity);
+        cachedTransform.hasOffsets = renderingOffsets != null;
+        if (renderingOffsets == null)
+            return null;
+
+        renderingOffsets.update(ageInTicks);
+        cachedTransform.shouldOffsetRender = renderingOffsets.shouldOffsetRender();
+
+        if (cachedTransform.shouldOffsetRender) {
+            // Far-away players are only turned once per tick, to the body yaw of the current tick, so that the rotated offsets
+            //   can be reused for the rest of it.
+            float yawTime = isFartherThan(entity, ClientConfig.getSimplifiedDistance()) ? entity.ticksExisted + 1 : ageInTicks;
+            // Creates an angle that cancels out the yaw offset put on by the renderer to make the model stay in place, and then adds in the offset angle.
+            float netYawOffset = calculateNetYawOffset(yawTime, entity, renderingOffsets);
+
+            // Rotates offset point into position.
+            renderingOffsets.rotate(netYawOffset);
+            cachedTransform.pointX = renderingOffsets.getRotatedXOffset();
+            cachedTransform.pointZ = renderingOffsets.getRotatedZOffset();
+            cachedTransform.yOffset = renderingOffsets.getYOffset();
+        }
+
+        return cachedTransform;
+    }
+
     /**
      * Calculates and interpolates the angle required to cancel out the player's offset and rotate the upper body into position.
      *
@@ -49,28 +112,28 @@ public class ModifiedModelCommon {
     }
 
     /**
-     * Calculates the offset position on the x-axis of the upper body.
+     * Checks whether an entity is farther away from the camera than the given distance.
      *
-     * @param renderingOffsets The rendering offsets that the player has.
-     * @param offsetSin The sin of the player's net yaw offset.
-     * @param offsetCos The cos of the player's net yaw offset.
+     * @param entity The entity to check.
+     * @param distance The distance, in blocks, or 0 to never count the entity as farther away.
      *
-     * @return The offset position on the x-axis of the upper body.
+     * @return Whether the entity is farther away than the distance.
      */
-    static float calculatePointX(RenderingOffsets renderingOffsets, float offsetSin, float offsetCos) {
-        return renderingOffsets.getXOffset() * offsetCos - renderingOffsets.getZOffset() * offsetSin;
+    static boolean isFartherThan(Entity entity, double distance) {
+        return distance > 0
+                && entity.getDistanceSq(Minecraft.getInstance().gameRenderer.getActiveRenderInfo().getProjectedView()) > distance * distance;
     }
 
+
+
     /**
-     * Calculates the offset position on the z-axis of the upper body.
-     *
-     * @param renderingOffsets The rendering offsets that the player has.
-     * @param offsetSin The sin of the player's net yaw offset.
-     * @param offsetCos The cos of the player's net yaw offset.
-     *
-     * @return The offset position on the z-axis of the upper body.
+     * Where to move the upper body of an entity to.
      */
-    static float calculatePointZ(RenderingOffsets renderingOffsets, float offsetSin, float offsetCos) {
-        return renderingOffsets.getXOffset() * offsetSin + renderingOffsets.getZOffset() * offsetCos;
+    static class OffsetTransform {
+        private boolean hasOffsets;
+
+        boolean shouldOffsetRender;
+        float pointX, pointZ;
+        float yOffset;
     }
 }
@@ -54,7 +54,7 @@ public class ModifiedPlayerRenderer extends PlayerRenderer {
         for (int i = 0; i < layerRenderers.size(); i++)
             if (layerRenderers.get(i) instanceof BipedArmorLayer) {
                 layerRenderers.remove(i);
-                layerRenderers.add(i, new BipedArmorLayer<>(this, new BipedModel<>(0.5F), upperArmorModel));
+                layerRenderers.add(i, new ModifiedBipedArmorLayer<>(this, new BipedModel<>(0.5F), upperArmorModel));
 
                 success = true;
                 break;
@@ -1,6 +1,9 @@
+var Integer = Java.type("java.lang.Integer")
 var Opcodes = Java.type("org.objectweb.asm.Opcodes")
+var Handle = Java.type("org.objectweb.asm.Handle")
 var InsnList = Java.type("org.objectweb.asm.tree.InsnList")
 var InsnNode = Java.type("org.objectweb.asm.tree.InsnNode")
+var InvokeDynamicInsnNode = Java.type("org.objectweb.asm.tree.InvokeDynamicInsnNode")
 var JumpInsnNode = Java.type("org.objectweb.asm.tree.JumpInsnNode")
 var LabelNode = Java.type("org.objectweb.asm.tree.LabelNode")
 var MethodInsnNode = Java.type("org.objectweb.asm.tree.MethodInsnNode")
@@ -170,6 +173,30 @@ function checkVarInsn(instructionNode, opCode, varIndex) {
 
 
 
+var passthroughBootstrap = new Handle(
+    Opcodes.H_INVOKESTATIC,
+    "com/epiphany/isawedthisplayerinhalf/helpers/HookGuard",
+    "bootstrapPassthrough",
+    "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;I)Ljava/lang/invoke/CallSite;",
+    false
+)
+
+/**
+ * Creates an instruction that calls a hook in BytecodeHelper through HookGuard, which skips the hook entirely while no
+ *   player is offset.
+ * Only for hooks that return one of their arguments, unchanged, when the player involved has no offsets.
+ *
+ * @param {string} hookName The name of the hook in BytecodeHelper.
+ * @param {string} descriptor The descriptor of the hook.
+ * @param {number} passthroughIndex The index of the argument that the hook returns when no player is offset.
+ *
+ * @returns {object/InvokeDynamicInsnNode} The instruction that calls the hook.
+ */
+function createGuardedHookInsn(hookName, descriptor, passthroughIndex) {
+    return new InvokeDynamicInsnNode(hookName, descriptor, passthroughBootstrap, Integer.valueOf(passthroughIndex))
+}
+
+
 var LoggingLevel = {
     DEBUG: {numericLevel: 0, name: "DEBUG"},
     ERROR: {numericLevel: 1, name: "ERROR"}
@@ -223,6 +250,7 @@ function initializeCoreMod() {
     return {
         /**
          * Adds an offset to the raycast that finds what block an entity is looking at.
+         * Stops that raycast from loading chunks.
          */
         "Entity": {
             "target": {
@@ -237,8 +265,11 @@ function initializeCoreMod() {
                 var functionName = "function pick"
 
                 if (pick !== null) {
+                    var oldInstructions = pick.instructions
+
+                    // Adds an offset to the raycast that finds what block an entity is looking at.
+                    var areaName = "first area of " + functionName
                     try {
-                        var oldInstructions = pick.instructions
                         var success = false
 
                         for (var i = 0; i < oldInstructions.size(); i++) {
@@ -247,12 +278,10 @@ function initializeCoreMod() {
                                 var offsetRaycastInstructions = new InsnList()
 
                                 offsetRaycastInstructions.add(new VarInsnNode(Opcodes.ALOAD, 0)) // this Lnet/minecraft/entity/Entity;
-                                offsetRaycastInstructions.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetRaycastInstructions.add(createGuardedHookInsn(
                                     "offsetVector",
                                     "(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/Vec3d;",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -261,17 +290,52 @@ function initializeCoreMod() {
                                 // ...
 
                                 success = true
-                                logTransformSuccess(functionName, classPath)
+                                logTransformSuccess(areaName, classPath)
 
                                 break
                             }
                         }
 
                         if (!success)
-                            logTransformError(functionName, classPath, ErrorMessages.injectionPointNotFound)
+                            logTransformError(areaName, classPath, ErrorMessages.injectionPointNotFound)
 
                     } catch (exception) {
-                        logTransformError(functionName, classPath, exception.message)
+                        logTransformError(areaName, classPath, exception.message)
+                    }
+
+                    // Stops the raycast from loading chunks.
+                    areaName = "second area of " + functionName
+                    try {
+                        var success = false
+
+                        for (var i = 0; i < oldInstructions.size(); i++) {
+                            var instruction = oldInstructions.get(i)
+
+                            if (checkObfuscatedMethodInsn(instruction, Opcodes.INVOKEVIRTUAL, "net/minecraft/world/World", "rayTraceBlocks", "func_217299_a",
+                                    "(Lnet/minecraft/util/math/RayTraceContext;)Lnet/minecraft/util/math/BlockRayTraceResult;")) {
+                                // ...
+                                // INVOKEVIRTUAL net/minecraft/world/World.rayTraceBlocks (Lnet/minecraft/util/math/RayTraceContext;)Lnet/minecraft/util/math/BlockRayTraceResult;
+                                oldInstructions.set(instruction, new MethodInsnNode(
+                                    Opcodes.INVOKESTATIC,
+                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                    "modifiedRayTraceBlocks",
+                                    "(Lnet/minecraft/world/World;Lnet/minecraft/util/math/RayTraceContext;)Lnet/minecraft/util/math/BlockRayTraceResult;",
+                                    false
+                                ))
+                                // ...
+
+                                success = true
+                                logTransformSuccess(areaName, classPath)
+
+                                break
+                            }
+                        }
+
+                        if (!success)
+                            logTransformError(areaName, classPath, ErrorMessages.injectionPointNotFound)
+
+                    } catch (exception) {
+                        logTransformError(areaName, classPath, exception.message)
                     }
 
                 } else
@@ -388,12 +452,10 @@ function initializeCoreMod() {
                                 redoCanEntityBeSeen.add(new VarInsnNode(Opcodes.ALOAD, 1)) // entityIn Lnet/minecraft/entity/Entity;
                                 redoCanEntityBeSeen.add(new VarInsnNode(Opcodes.ALOAD, 2)) // vec3d Lnet/minecraft/util/math/Vec3d;
                                 redoCanEntityBeSeen.add(new VarInsnNode(Opcodes.ALOAD, 3)) // vec3d1 Lnet/minecraft/util/math/Vec3d;
-                                redoCanEntityBeSeen.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                redoCanEntityBeSeen.add(createGuardedHookInsn(
                                     "redoCanEntityBeSeen",
                                     "(ZLnet/minecraft/entity/LivingEntity;Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/util/math/Vec3d;)Z",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -555,12 +617,10 @@ function initializeCoreMod() {
                                 var offsetHomePosition = new InsnList()
 
                                 offsetHomePosition.add(new VarInsnNode(Opcodes.ALOAD, 1)) // entity Lnet/minecraft/entity/Entity;
-                                offsetHomePosition.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetHomePosition.add(createGuardedHookInsn(
                                     "offsetBlockPosition",
                                     "(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/BlockPos;",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -649,40 +709,34 @@ function initializeCoreMod() {
                                 offsetSetMotion.add(new MethodInsnNode(
                                     Opcodes.INVOKESTATIC,
                                     "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
-                                    "getOffsetsInverselyScaled",
-                                    "(Lnet/minecraft/entity/Entity;F)Lnet/minecraft/util/math/Vec3d;",
-                                    false
-                                ))
-
-                                offsetSetMotion.add(new InsnNode(Opcodes.DUP))
-                                offsetSetMotion.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
-                                    "getVectorX",
-                                    "(Lnet/minecraft/util/math/Vec3d;)D",
+                                    "getOffsetXInverselyScaled",
+                                    "(Lnet/minecraft/entity/Entity;F)D",
                                     false
                                 ))
                                 offsetSetMotion.add(new VarInsnNode(Opcodes.DLOAD, 3)) // d0 D
                                 offsetSetMotion.add(new InsnNode(Opcodes.DADD))
                                 offsetSetMotion.add(new VarInsnNode(Opcodes.DSTORE, 3)) // d0 D
 
-                                offsetSetMotion.add(new InsnNode(Opcodes.DUP))
+                                offsetSetMotion.add(new VarInsnNode(Opcodes.ALOAD, 1)) // entity Lnet/minecraft/entity/Entity;
+                                offsetSetMotion.add(new VarInsnNode(Opcodes.FLOAD, 2)) // f F
                                 offsetSetMotion.add(new MethodInsnNode(
                                     Opcodes.INVOKESTATIC,
                                     "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
-                                    "getVectorY",
-                                    "(Lnet/minecraft/util/math/Vec3d;)D",
+                                    "getOffsetYInverselyScaled",
+                                    "(Lnet/minecraft/entity/Entity;F)D",
                                     false
                                 ))
                                 offsetSetMotion.add(new VarInsnNode(Opcodes.DLOAD, 5)) // d1 D
                                 offsetSetMotion.add(new InsnNode(Opcodes.DADD))
                                 offsetSetMotion.add(new VarInsnNode(Opcodes.DSTORE, 5)) // d1 D
 
+                                offsetSetMotion.add(new VarInsnNode(Opcodes.ALOAD, 1)) // entity Lnet/minecraft/entity/Entity;
+                                offsetSetMotion.add(new VarInsnNode(Opcodes.FLOAD, 2)) // f F
                                 offsetSetMotion.add(new MethodInsnNode(
                                     Opcodes.INVOKESTATIC,
                                     "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
-                                    "getVectorZ",
-                                    "(Lnet/minecraft/util/math/Vec3d;)D",
+                                    "getOffsetZInverselyScaled",
+                                    "(Lnet/minecraft/entity/Entity;F)D",
                                     false
                                 ))
                                 offsetSetMotion.add(new VarInsnNode(Opcodes.DLOAD, 7)) // d2 D
@@ -724,12 +778,10 @@ function initializeCoreMod() {
                                 var offsetTryMoveTo = new InsnList()
 
                                 offsetTryMoveTo.add(new VarInsnNode(Opcodes.ALOAD, 1)) // entity Lnet/minecraft/entity/Entity;
-                                offsetTryMoveTo.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetTryMoveTo.add(createGuardedHookInsn(
                                     "offsetVector",
                                     "(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/Vec3d;",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -783,12 +835,10 @@ function initializeCoreMod() {
                                 var offsetRaycastInstructions = new InsnList()
 
                                 offsetRaycastInstructions.add(new VarInsnNode(Opcodes.ALOAD, 1)) // player Lnet/minecraft/entity/player/PlayerEntity;
-                                offsetRaycastInstructions.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetRaycastInstructions.add(createGuardedHookInsn(
                                     "offsetVectorInversely",
                                     "(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/Vec3d;",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -1477,12 +1527,10 @@ function initializeCoreMod() {
                                 var redoIsWithinMaxDistance = new InsnList()
 
                                 redoIsWithinMaxDistance.add(new VarInsnNode(Opcodes.ALOAD, 0)) // this Lnet/minecraft/entity/ai/goal/LookAtGoal;
-                                redoIsWithinMaxDistance.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                redoIsWithinMaxDistance.add(createGuardedHookInsn(
                                     "redoIsWithinMaxDistance",
                                     "(DLnet/minecraft/entity/ai/goal/LookAtGoal;)D",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -1959,12 +2007,10 @@ function initializeCoreMod() {
                                 var redoGetDistanceSq = new InsnList()
 
                                 redoGetDistanceSq.add(new VarInsnNode(Opcodes.ALOAD, 0)) // this Lnet/minecraft/entity/monster/EndermanEntity$StareGoal;
-                                redoGetDistanceSq.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                redoGetDistanceSq.add(createGuardedHookInsn(
                                     "redoShouldExecuteRangeCheck",
                                     "(DLjava/lang/Object;)D",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -2121,8 +2167,8 @@ function initializeCoreMod() {
                                 var redoCanTarget = new InsnList()
                                 var skipOriginal = new LabelNode()
 
-                                redoGetClosestPlayer.add(skipOriginal)
-                                redoGetClosestPlayer.add(new MethodInsnNode(
+                                redoCanTarget.add(skipOriginal)
+                                redoCanTarget.add(new MethodInsnNode(
                                     Opcodes.INVOKESTATIC,
                                     "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
                                     "modifiedCanTargetNOOF",
@@ -2133,7 +2179,7 @@ function initializeCoreMod() {
                                 // ...
                                 oldInstructions.insertBefore(instruction, new JumpInsnNode(Opcodes.GOTO, skipOriginal))
                                 // INVOKEVIRTUAL net/minecraft/entity/EntityPredicate.canTarget (Lnet/minecraft/entity/LivingEntity;Lnet/minecraft/entity/LivingEntity;)Z
-                                oldInstructions.insert(instruction, redoGetClosestPlayer)
+                                oldInstructions.insert(instruction, redoCanTarget)
                                 // ...
 
                                 success = true
@@ -2191,12 +2237,10 @@ function initializeCoreMod() {
                                 redoGetDistanceSq.add(new VarInsnNode(Opcodes.DLOAD, 4)) // d0 D
                                 redoGetDistanceSq.add(new VarInsnNode(Opcodes.DLOAD, 4)) // d0 D
                                 redoGetDistanceSq.add(new InsnNode(Opcodes.DMUL))
-                                redoGetDistanceSq.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                redoGetDistanceSq.add(createGuardedHookInsn(
                                     "getMinimumDistanceSq",
                                     "(Lnet/minecraft/entity/Entity;Lnet/minecraft/entity/Entity;D)D",
-                                    false
+                                    2
                                 ))
 
                                 // ...
@@ -3141,6 +3185,7 @@ function initializeCoreMod() {
 
         /**
          * Allows players to break far away blocks.
+         * Stops players from breaking blocks in chunks that are not loaded.
          */
         "PlayerInteractionManager": {
             "target": {
@@ -3165,6 +3210,20 @@ function initializeCoreMod() {
                                     && checkInsn(oldInstructions.get(i+2), Opcodes.I2D) && checkLdcInsn(oldInstructions.get(i+3), 0.5) && checkInsn(oldInstructions.get(i+4), Opcodes.DADD)
                                     && checkInsn(oldInstructions.get(i+5), Opcodes.DSUB) && checkVarInsn(oldInstructions.get(i+6), Opcodes.DSTORE, 9)) {
                                 var offsetPlayerPosition = new InsnList()
+                                var blockReachable = new LabelNode()
+
+                                offsetPlayerPosition.add(new VarInsnNode(Opcodes.ALOAD, 0)) // this Lnet/minecraft/server/management/PlayerInteractionManager;
+                                offsetPlayerPosition.add(new VarInsnNode(Opcodes.ALOAD, 1)) // pos Lnet/minecraft/util/math/BlockPos;
+                                offsetPlayerPosition.add(new MethodInsnNode(
+                                    Opcodes.INVOKESTATIC,
+                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                    "isBlockReachableFromManager",
+                                    "(Lnet/minecraft/server/management/PlayerInteractionManager;Lnet/minecraft/util/math/BlockPos;)Z",
+                                    false
+                                ))
+                                offsetPlayerPosition.add(new JumpInsnNode(Opcodes.IFNE, blockReachable))
+                                offsetPlayerPosition.add(new InsnNode(Opcodes.RETURN))
+                                offsetPlayerPosition.add(blockReachable)
 
 
                                 offsetPlayerPosition.add(new VarInsnNode(Opcodes.ALOAD, 0)) // this Lnet/minecraft/server/management/PlayerInteractionManager;
@@ -3278,15 +3337,15 @@ function initializeCoreMod() {
                                 redoGetDistanceSq.add(new MethodInsnNode(
                                     Opcodes.INVOKESTATIC,
                                     "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
-                                    "modifiedGetDistanceSq",
+                                    "modifiedGetReachDistanceSq",
                                     "(Lnet/minecraft/entity/player/PlayerEntity;DDD)D",
                                     false
                                 ))
 
                                 // ...
-                                redoGetDistanceSq.insertBefore(instruction, new JumpInsnNode(Opcodes.GOTO, skipOriginal))
+                                oldInstructions.insertBefore(instruction, new JumpInsnNode(Opcodes.GOTO, skipOriginal))
                                 // INVOKEVIRTUAL net/minecraft/entity/player/ServerPlayerEntity.getDistanceSq (DDD)D
-                                redoGetDistanceSq.insert(instruction, redoGetDistanceSq)
+                                oldInstructions.insert(instruction, redoGetDistanceSq)
                                 // ...
 
                                 success = true
@@ -3393,12 +3452,10 @@ function initializeCoreMod() {
                                 var offsetRaycastInstructions = new InsnList()
 
                                 offsetRaycastInstructions.add(new VarInsnNode(Opcodes.ALOAD, 2)) // entity Lnet/minecraft/entity/Entity;
-                                offsetRaycastInstructions.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetRaycastInstructions.add(createGuardedHookInsn(
                                     "offsetVector",
                                     "(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/Vec3d;",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -3431,12 +3488,10 @@ function initializeCoreMod() {
                                 var offsetAABBInstructions = new InsnList()
 
                                 offsetAABBInstructions.add(new VarInsnNode(Opcodes.ALOAD, 2)) // entity Lnet/minecraft/entity/Entity;
-                                offsetAABBInstructions.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetAABBInstructions.add(createGuardedHookInsn(
                                     "offsetAxisAlignedBB",
                                     "(Lnet/minecraft/util/math/AxisAlignedBB;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/AxisAlignedBB;",
-                                    false
+                                    0
                                 ))
 
                                 // ...
@@ -3580,7 +3635,7 @@ function initializeCoreMod() {
 
         /**
          * Checks if the player is in range to render both with the normal and offset positions.
-         * Runs the frustum check twice so it can account for players' offsets, allowing the offset position to be rendered even when the original position is not in view.
+         * Runs the frustum check against a box covering both halves of offset players, allowing the offset position to be rendered even when the original position is not in view.
          */
         "EntityRenderer": {
             "target": {
@@ -3641,7 +3696,7 @@ function initializeCoreMod() {
                         logTransformError(areaName, classPath, exception.message)
                     }
 
-                    // Runs the frustum check twice so it can account for players' offsets, allowing the offset position to be rendered even when the original position is not in view.
+                    // Runs the frustum check against a box covering both halves of offset players, allowing the offset position to be rendered even when the original position is not in view.
                     var areaName = "second area of " + functionName
                     try {
                         var success = false
@@ -3651,27 +3706,18 @@ function initializeCoreMod() {
 
                             if (checkObfuscatedMethodInsn(instruction, Opcodes.INVOKEVIRTUAL, "net/minecraft/client/renderer/culling/ClippingHelperImpl",
                                     "isBoundingBoxInFrustum", "func_228957_a_", "(Lnet/minecraft/util/math/AxisAlignedBB;)Z")) {
-                                var doubleCheckFrustum = new InsnList()
-                                var skipToReturn = new LabelNode()
-
-                                // Returns if the entity should be rendered.
-                                doubleCheckFrustum.add(new InsnNode(Opcodes.DUP))
-                                doubleCheckFrustum.add(new JumpInsnNode(Opcodes.IFNE, skipToReturn))
-                                    doubleCheckFrustum.add(new VarInsnNode(Opcodes.ALOAD, 1)) // livingEntityIn Lnet/minecraft/entity/Entity;
-                                    doubleCheckFrustum.add(new VarInsnNode(Opcodes.ALOAD, 2)) // camera Lnet/minecraft/client/renderer/culling/ClippingHelperImpl;
-                                    doubleCheckFrustum.add(new VarInsnNode(Opcodes.ALOAD, 9)) // axisalignedbb Lnet/minecraft/util/math/AxisAlignedBB;
-                                    doubleCheckFrustum.add(new MethodInsnNode(
-                                        Opcodes.INVOKESTATIC,
-                                        "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
-                                        "modifiedIsBoundingBoxInFrustum",
-                                        "(ZLnet/minecraft/entity/Entity;Lnet/minecraft/client/renderer/culling/ClippingHelperImpl;Lnet/minecraft/util/math/AxisAlignedBB;)Z",
-                                        false
-                                    ))
-                                doubleCheckFrustum.add(skipToReturn)
+                                var replaceBoundingBox = new InsnList()
+
+                                replaceBoundingBox.add(new VarInsnNode(Opcodes.ALOAD, 1)) // livingEntityIn Lnet/minecraft/entity/Entity;
+                                replaceBoundingBox.add(createGuardedHookInsn(
+                                    "modifiedGetFrustumBoundingBox",
+                                    "(Lnet/minecraft/util/math/AxisAlignedBB;Lnet/minecraft/entity/Entity;)Lnet/minecraft/util/math/AxisAlignedBB;",
+                                    0
+                                ))
 
                                 // ...
+                                oldInstructions.insertBefore(instruction, replaceBoundingBox)
                                 // INVOKEVIRTUAL net/minecraft/client/renderer/culling/ClippingHelperImpl.isBoundingBoxInFrustum (Lnet/minecraft/util/math/AxisAlignedBB;)Z
-                                oldInstructions.insert(instruction, doubleCheckFrustum)
                                 // ...
 
                                 success = true
@@ -3824,12 +3870,10 @@ function initializeCoreMod() {
 
                                 offsetNameMatrix.add(new VarInsnNode(Opcodes.ALOAD, 1)) // entityIn Lnet/minecraft/client/entity/player/AbstractClientPlayerEntity;
                                 offsetNameMatrix.add(new VarInsnNode(Opcodes.ALOAD, 3)) // matrixStackIn Lcom/mojang/blaze3d/matrix/MatrixStack;
-                                offsetNameMatrix.add(new MethodInsnNode(
-                                    Opcodes.INVOKESTATIC,
-                                    "com/epiphany/isawedthisplayerinhalf/helpers/BytecodeHelper",
+                                offsetNameMatrix.add(createGuardedHookInsn(
                                     "offsetMatrix",
                                     "(Lnet/minecraft/client/entity/player/AbstractClientPlayerEntity;Lcom/mojang/blaze3d/matrix/MatrixStack;)Lcom/mojang/blaze3d/matrix/MatrixStack;",
-                                    false
+                                    1
                                 ))
 
                                 // ...